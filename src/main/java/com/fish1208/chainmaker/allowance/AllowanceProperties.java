@@ -0,0 +1,28 @@
+package com.fish1208.chainmaker.allowance;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 授权额度缓存配置
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chain-gateway.allowance")
+public class AllowanceProperties {
+
+    /**
+     * 订阅这些合约的Approval事件更新缓存
+     */
+    private List<String> subscribeContracts = new ArrayList<>();
+
+    /**
+     * approve不等待上链即发送transferFrom，两笔交易可进入同一区块。
+     * 链上不保证同一区块内的执行顺序，transferFrom先执行失败时会在approve上链后重试一次
+     */
+    private boolean pipelineApprove = false;
+}
@@ -0,0 +1,233 @@
+package com.fish1208.chainmaker.allowance;
+
+import com.fish1208.chainmaker.contract.CalldataProperties;
+import com.fish1208.chainmaker.contract.TokenContract;
+import com.fish1208.chainmaker.endorse.Endorsements;
+import com.fish1208.chainmaker.event.EventDecoders;
+import com.fish1208.chainmaker.gateway.ChainGateway;
+import com.fish1208.chainmaker.projection.Address160;
+import com.fish1208.chainmaker.registry.ChainContext;
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.chainmaker.pb.common.ResultOuterClass;
+import org.chainmaker.sdk.SdkException;
+import org.chainmaker.sdk.utils.CryptoUtils;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 授权额度管理：缓存allowance，额度足够时跳过approve交易
+ *
+ * 缓存来源为allowance查询、本服务发出的approve以及订阅的Approval事件。
+ * 缓存只作为提示，transferFrom失败时调用方应通过reapproveIfStale确认额度是否真的过期。
+ */
+@Slf4j
+@Component
+public class AllowanceService implements InitializingBean {
+
+    private static final long RPC_CALL_TIMEOUT = 10000;
+    private static final long SYNC_RESULT_TIMEOUT = 10000;
+
+    /**
+     * reapproveIfStale的结果
+     */
+    public enum Reapprove {
+        /**
+         * 链上额度足够，缓存并未过期，交易失败另有原因
+         */
+        SUFFICIENT,
+        /**
+         * 缓存已过期，已重新授权
+         */
+        APPROVED,
+        FAILED
+    }
+
+    @Autowired
+    private ChainGateway chainGateway;
+
+    @Autowired
+    private AllowanceProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CalldataProperties calldataProperties;
+
+    @Autowired
+    private EventDecoders eventDecoders;
+
+    private final Map<String, BigInteger> allowances = new ConcurrentHashMap<>();
+    private final Map<String, TokenContract> contracts = new ConcurrentHashMap<>();
+
+    private final Map<String, Address160> clientAddresses = new ConcurrentHashMap<>();
+    private Counter approveSkipped;
+    private Counter approveSent;
+
+    @Override
+    public void afterPropertiesSet() {
+        approveSkipped = Counter.builder("chain.allowance.approve.skipped").register(meterRegistry);
+        approveSent = Counter.builder("chain.allowance.approve.sent").register(meterRegistry);
+        for (String contractName : properties.getSubscribeContracts()) {
+            subscribeApproval(contractName);
+        }
+    }
+
+    /**
+     * 确保客户端对spender的授权额度不小于amount，额度不足时才发送approve并等待上链
+     *
+     * @return 额度是否满足
+     */
+    public boolean ensure(String contractName, String spender, BigInteger amount) throws SdkException {
+        BigInteger current = allowance(contractName, spender);
+        if (current.compareTo(amount) >= 0) {
+            approveSkipped.increment();
+            return true;
+        }
+        // token.sol要求已有非零额度时先置零才能重新授权
+        if (current.signum() > 0 && !isSuccess(approve(contractName, spender, BigInteger.ZERO, SYNC_RESULT_TIMEOUT))) {
+            return false;
+        }
+        return isSuccess(approve(contractName, spender, amount, SYNC_RESULT_TIMEOUT));
+    }
+
+    /**
+     * 额度不足时发送approve但不等待上链，用于与后续交易流水线提交
+     *
+     * @return 已发出的approve交易txId，额度足够无需approve时返回null
+     */
+    public String ensureAsync(String contractName, String spender, BigInteger amount) throws SdkException {
+        BigInteger current = allowance(contractName, spender);
+        if (current.compareTo(amount) >= 0) {
+            approveSkipped.increment();
+            return null;
+        }
+        if (current.signum() > 0 && !isSuccess(approve(contractName, spender, BigInteger.ZERO, SYNC_RESULT_TIMEOUT))) {
+            throw new IllegalStateException("reset allowance failed, spender = " + spender);
+        }
+        ResultOuterClass.TxResponse response = approve(contractName, spender, amount, 0);
+        return response.getTxId();
+    }
+
+    /**
+     * 丢弃缓存重新查询额度，只有链上额度确实小于amount时才重新授权
+     */
+    public Reapprove reapproveIfStale(String contractName, String spender, BigInteger amount) throws SdkException {
+        invalidate(contractName, spender);
+        if (allowance(contractName, spender).compareTo(amount) >= 0) {
+            return Reapprove.SUFFICIENT;
+        }
+        return ensure(contractName, spender, amount) ? Reapprove.APPROVED : Reapprove.FAILED;
+    }
+
+    /**
+     * 等待已发出的approve上链
+     */
+    public boolean awaitApprove(String txId) {
+        ResultOuterClass.Result result = Endorsements.awaitResult(chainGateway, txId, RPC_CALL_TIMEOUT,
+                System.currentTimeMillis() + SYNC_RESULT_TIMEOUT);
+        return result != null && result.getCode() == ResultOuterClass.TxStatusCode.SUCCESS;
+    }
+
+    public void invalidate(String contractName, String spender) {
+        allowances.remove(key(contractName, clientAddress(), Address160.fromHex(spender)));
+    }
+
+    private BigInteger allowance(String contractName, String spender) throws SdkException {
+        Address160 owner = clientAddress();
+        String key = key(contractName, owner, Address160.fromHex(spender));
+        BigInteger cached = allowances.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        BigInteger value = contract(contractName).allowance(owner.toString(), spender);
+        allowances.put(key, value);
+        return value;
+    }
+
+    private ResultOuterClass.TxResponse approve(String contractName, String spender, BigInteger amount, long syncResultTimeout) throws SdkException {
+        approveSent.increment();
+        ResultOuterClass.TxResponse response = contract(contractName).approve(spender, amount, null, syncResultTimeout);
+        String key = key(contractName, clientAddress(), Address160.fromHex(spender));
+        if (syncResultTimeout > 0 && isSuccess(response)) {
+            allowances.put(key, amount);
+        } else {
+            allowances.remove(key);
+        }
+        return response;
+    }
+
+    private TokenContract contract(String contractName) {
+        return contracts.computeIfAbsent(contractName, name -> new TokenContract(chainGateway, name, calldataProperties.getEncoding()));
+    }
+
+    private void subscribeApproval(String contractName) {
+        try {
+            chainGateway.getChainClient().subscribeContractEvent(ApprovalEvent.TOPIC, contractName, new StreamObserver<ResultOuterClass.SubscribeResult>() {
+                @Override
+                public void onNext(ResultOuterClass.SubscribeResult result) {
+                    try {
+                        ResultOuterClass.ContractEventInfoList events = ResultOuterClass.ContractEventInfoList.parseFrom(result.getData());
+                        for (ResultOuterClass.ContractEventInfo info : events.getContractEventsList()) {
+                            ApprovalEvent approval = ApprovalEvent.of(eventDecoders.decode(info));
+                            if (approval != null) {
+                                allowances.put(key(contractName, approval.getOwner(), approval.getSpender()), approval.getValue());
+                            }
+                        }
+                    } catch (InvalidProtocolBufferException e) {
+                        log.error("invalid approval event, contract = {}", contractName, e);
+                    }
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    // 事件流断开后缓存可能过期，清空后由查询重新填充
+                    log.warn("approval subscription broken, contract = {}, e = {}", contractName, throwable.getMessage());
+                    allowances.clear();
+                }
+
+                @Override
+                public void onCompleted() {
+                    allowances.clear();
+                }
+            });
+        } catch (SdkException e) {
+            log.warn("subscribe approval failed, contract = {}, e = {}", contractName, e.getMessage());
+        }
+    }
+
+    /**
+     * 各链客户端证书不同，地址按链缓存
+     */
+    private Address160 clientAddress() {
+        return clientAddresses.computeIfAbsent(chainKey(), chainId -> {
+            try {
+                return Address160.fromHex(CryptoUtils.makeAddrFromCert(chainGateway.getChainClient().getClientUser().getTlsCertificate()));
+            } catch (Exception e) {
+                throw new IllegalStateException("make client address failed", e);
+            }
+        });
+    }
+
+    private static String key(String contractName, Address160 owner, Address160 spender) {
+        return chainKey() + ':' + contractName + ':' + owner + ':' + spender;
+    }
+
+    private static String chainKey() {
+        String chainId = ChainContext.get();
+        return chainId == null ? "" : chainId;
+    }
+
+    private static boolean isSuccess(ResultOuterClass.TxResponse response) {
+        return response.getCode() == ResultOuterClass.TxStatusCode.SUCCESS;
+    }
+}
@@ -0,0 +1,41 @@
+package com.fish1208.chainmaker.allowance;
+
+import com.fish1208.chainmaker.event.DecodedEvent;
+import com.fish1208.chainmaker.projection.Address160;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.web3j.abi.EventEncoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Event;
+import org.web3j.abi.datatypes.generated.Uint256;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * token.sol中的 Approval(address indexed _owner, address indexed _spender, uint256 _value)
+ */
+@Getter
+@AllArgsConstructor
+public class ApprovalEvent {
+
+    public static final String TOPIC = EventEncoder.encode(new Event("Approval",
+            Arrays.asList(new TypeReference<Address>(true) {}, new TypeReference<Address>(true) {},
+                    new TypeReference<Uint256>() {}))).substring(2);
+
+    private final Address160 owner;
+    private final Address160 spender;
+    private final BigInteger value;
+
+    /**
+     * @param event EventDecoders的解码结果
+     * @return 不是Approval事件时返回null
+     */
+    public static ApprovalEvent of(DecodedEvent event) {
+        if (event == null || !TOPIC.equals(event.getDefinition().getTopic())) {
+            return null;
+        }
+        return new ApprovalEvent(event.getAddress(0), event.getAddress(1), event.getInteger(2));
+    }
+}
@@ -0,0 +1,43 @@
+package com.fish1208.chainmaker.archive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 区块归档配置。归档会删除节点上的区块数据，默认关闭
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chain-gateway.archive")
+public class ArchiveProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * 节点上保留的最近区块数，更早的区块归档
+     */
+    private long retention = 100000;
+
+    /**
+     * 每次归档请求推进的区块数
+     */
+    private int batchSize = 100;
+
+    /**
+     * 校验归档库中区块时的并发数
+     */
+    private int parallelism = 8;
+
+    /**
+     * 检查间隔(毫秒)
+     */
+    private long interval = 60000;
+
+    /**
+     * 已归档高度的记录文件
+     */
+    private String cursorFile = "./archive/archived-height";
+
+    private long rpcCallTimeout = 10000;
+}
@@ -0,0 +1,190 @@
+package com.fish1208.chainmaker.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.chainmaker.pb.common.Request;
+import org.chainmaker.pb.common.ResultOuterClass;
+import org.chainmaker.pb.store.Store;
+import org.chainmaker.sdk.ChainClient;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 后台归档默认链上早于保留窗口的区块。
+ *
+ * 区块由归档工具写入归档库，这里只负责让节点删除已归档的区块：每批先并发用getArchivedFullBlockByHeight
+ * 确认整批区块都已在归档库中，再发送归档请求把节点的归档高度推进到批次末尾，有任何区块缺失则停止等待下次检查。
+ *
+ * 本地游标只是进度记录，以节点的归档高度为准：启动后和每次失败(含归档请求被拒绝)后先按getArchivedBlockHeight校准。
+ *
+ * 有恢复任务时与之协调：恢复未结束时暂停归档；已完成的任务在被清除前，只归档到其起始高度之前，保留恢复的区块。
+ */
+@Slf4j
+@Component
+public class ArchiveScheduler implements InitializingBean, DisposableBean {
+
+    @Autowired
+    private ChainClient chainClient;
+
+    @Autowired
+    private ArchiveProperties properties;
+
+    @Autowired
+    private RestoreService restoreService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private HeightCursor cursor;
+    private ScheduledExecutorService scheduler;
+    private ExecutorService verifier;
+
+    private volatile long backlog;
+    private volatile boolean reconciled;
+    private Counter archived;
+    private Timer batchTimer;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        cursor = new HeightCursor(Paths.get(properties.getCursorFile()), 0);
+        archived = Counter.builder("chain.archive.blocks").register(meterRegistry);
+        batchTimer = Timer.builder("chain.archive.batch").register(meterRegistry);
+        Gauge.builder("chain.archive.height", cursor, HeightCursor::get).register(meterRegistry);
+        Gauge.builder("chain.archive.backlog", this, s -> s.backlog).register(meterRegistry);
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        verifier = Executors.newFixedThreadPool(Math.max(1, properties.getParallelism()), r -> {
+            Thread thread = new Thread(r, "chain-archive-verify-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "chain-archive");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            reconcile();
+        } catch (Exception e) {
+            // 节点暂不可用时由第一次检查再校准
+            log.warn("read archived block height failed, e = {}", e.getMessage());
+        }
+        scheduler.scheduleWithFixedDelay(this::archive, properties.getInterval(), properties.getInterval(), TimeUnit.MILLISECONDS);
+        log.info("archive scheduler started, archived height = {}, retention = {}", cursor.get(), properties.getRetention());
+    }
+
+    private void archive() {
+        try {
+            if (!reconciled) {
+                reconcile();
+            }
+            RestoreJob restore = restoreService.getJob();
+            if (restore != null && restore.getStatus() != RestoreJob.Status.DONE) {
+                // 恢复会改变节点的归档高度，结束后重新校准游标
+                reconciled = false;
+                return;
+            }
+            long current = chainClient.getCurrentBlockHeight(properties.getRpcCallTimeout());
+            long target = current - properties.getRetention();
+            if (restore != null) {
+                target = Math.min(target, restore.getFrom() - 1);
+            }
+            backlog = Math.max(0, target - cursor.get());
+            while (cursor.get() < target && !Thread.currentThread().isInterrupted()) {
+                long from = cursor.get() + 1;
+                long to = Math.min(cursor.get() + properties.getBatchSize(), target);
+                long start = System.nanoTime();
+                if (!verify(from, to)) {
+                    return;
+                }
+                archiveTo(to);
+                cursor.set(to);
+                archived.increment(to - from + 1);
+                backlog = Math.max(0, target - to);
+                batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        } catch (Exception e) {
+            reconciled = false;
+            log.warn("archive failed, archived height = {}, e = {}", cursor.get(), e.getMessage());
+        }
+    }
+
+    /**
+     * 游标文件缺失、来自其它环境或节点被另行归档时，以节点记录的归档高度为准
+     */
+    private void reconcile() throws Exception {
+        long archivedHeight = chainClient.getArchivedBlockHeight(properties.getRpcCallTimeout());
+        if (archivedHeight != cursor.get()) {
+            log.info("archive cursor reconciled with node, cursor = {}, node = {}", cursor.get(), archivedHeight);
+            cursor.set(archivedHeight);
+        }
+        reconciled = true;
+    }
+
+    /**
+     * @return 批次内全部区块都已在归档库中
+     */
+    private boolean verify(long from, long to) throws Exception {
+        List<Future<Boolean>> futures = new ArrayList<>((int) (to - from + 1));
+        for (long height = from; height <= to; height++) {
+            long h = height;
+            futures.add(verifier.submit(() -> {
+                try {
+                    Store.BlockWithRWSet block = chainClient.getArchivedFullBlockByHeight(h);
+                    return block != null && block.getBlock().getHeader().getBlockHeight() == h;
+                } catch (Exception e) {
+                    // 归档库中没有该区块或归档库不可用，都不能删除节点上的区块
+                    return false;
+                }
+            }));
+        }
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                if (!futures.get(i).get()) {
+                    log.info("block not in archive store yet, height = {}", from + i);
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            for (Future<Boolean> future : futures) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    private void archiveTo(long height) throws Exception {
+        Request.Payload payload = chainClient.createArchiveBlockPayload(height);
+        ResultOuterClass.TxResponse response = chainClient.sendArchiveBlockRequest(payload, properties.getRpcCallTimeout());
+        if (response.getCode() != ResultOuterClass.TxStatusCode.SUCCESS) {
+            throw new IllegalStateException("archive to " + height + " rejected: " + response.getCode() + " " + response.getMessage());
+        }
+        log.info("blocks archived, height = {}", height);
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            verifier.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.fish1208.chainmaker.archive;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 持久化到文件的区块高度进度，重启或失败后从记录的高度继续
+ */
+class HeightCursor {
+
+    private final Path file;
+    private volatile long height;
+
+    HeightCursor(Path file, long initial) throws IOException {
+        this.file = file;
+        if (Files.exists(file)) {
+            this.height = Long.parseLong(new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim());
+        } else {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            this.height = initial;
+        }
+    }
+
+    long get() {
+        return height;
+    }
+
+    /**
+     * 先写临时文件再原子替换，避免写一半时进程退出
+     */
+    void set(long height) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(tmp, Long.toString(height).getBytes(StandardCharsets.UTF_8));
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.height = height;
+    }
+}
@@ -0,0 +1,70 @@
+package com.fish1208.chainmaker.archive;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 恢复任务及其进度，区块从高到低恢复，next为下一个待恢复的高度
+ */
+@Getter
+public class RestoreJob {
+
+    public enum Status {
+        RUNNING,
+        DONE,
+        FAILED
+    }
+
+    private final long from;
+    private final long to;
+    private volatile long next;
+    private volatile Status status = Status.RUNNING;
+    private volatile String error;
+
+    RestoreJob(long from, long to, long next) {
+        this.from = from;
+        this.to = to;
+        this.next = next;
+    }
+
+    public long getRemaining() {
+        return Math.max(0, next - from + 1);
+    }
+
+    void advance(long next, Path file) throws IOException {
+        this.next = next;
+        save(file);
+    }
+
+    void done() {
+        status = Status.DONE;
+    }
+
+    void failed(String error) {
+        this.error = error;
+        status = Status.FAILED;
+    }
+
+    void save(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(tmp, (from + "," + to + "," + next).getBytes(StandardCharsets.UTF_8));
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return 没有进度文件时为null
+     */
+    static RestoreJob load(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        String[] parts = new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim().split(",");
+        return new RestoreJob(Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+    }
+}
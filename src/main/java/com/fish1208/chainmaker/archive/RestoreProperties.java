@@ -0,0 +1,36 @@
+package com.fish1208.chainmaker.archive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 归档区块批量恢复配置
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chain-gateway.restore")
+public class RestoreProperties {
+
+    /**
+     * 并发读取归档区块并序列化的线程数，也是预读的区块数
+     */
+    private int parallelism = 8;
+
+    /**
+     * 单次恢复的最大区块数
+     */
+    private long maxBlocks = 100000;
+
+    /**
+     * 启动时继续未完成的恢复任务
+     */
+    private boolean resumeOnStartup = true;
+
+    /**
+     * 恢复进度文件
+     */
+    private String jobFile = "./archive/restore-job";
+
+    private long rpcCallTimeout = 10000;
+}
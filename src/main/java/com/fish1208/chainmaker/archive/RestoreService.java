@@ -0,0 +1,174 @@
+package com.fish1208.chainmaker.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.chainmaker.pb.common.Request;
+import org.chainmaker.pb.common.ResultOuterClass;
+import org.chainmaker.sdk.ChainClient;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 把默认链一段已归档的区块恢复到节点。
+ *
+ * 读取归档区块并序列化在线程池上并发进行，预读parallelism个区块；恢复请求按高度从高到低依次发送，
+ * 每恢复一个区块持久化一次进度，失败或重启后从进度文件继续，不重复恢复已完成的区块。
+ *
+ * 任务记录(含已完成的)保留到调用clear()为止，期间ArchiveScheduler不会再归档恢复范围内的区块。
+ */
+@Slf4j
+@Component
+public class RestoreService implements InitializingBean, DisposableBean {
+
+    @Autowired
+    private ChainClient chainClient;
+
+    @Autowired
+    private RestoreProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Path jobFile;
+    private ExecutorService runner;
+    private ExecutorService readers;
+    private Counter restored;
+
+    private volatile RestoreJob job;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        jobFile = Paths.get(properties.getJobFile());
+        restored = Counter.builder("chain.restore.blocks").register(meterRegistry);
+        Gauge.builder("chain.restore.remaining", this, s -> {
+            RestoreJob current = s.job;
+            return current == null || current.getStatus() == RestoreJob.Status.DONE ? 0 : current.getRemaining();
+        }).register(meterRegistry);
+
+        runner = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "chain-restore");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger threadIndex = new AtomicInteger();
+        readers = Executors.newFixedThreadPool(Math.max(1, properties.getParallelism()), r -> {
+            Thread thread = new Thread(r, "chain-restore-read-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // 已完成或不续做的任务也要加载，归档调度据此保留恢复范围
+        RestoreJob saved = RestoreJob.load(jobFile);
+        if (saved == null) {
+            return;
+        }
+        job = saved;
+        if (saved.getRemaining() == 0) {
+            saved.done();
+        } else if (properties.isResumeOnStartup()) {
+            log.info("resume restore, from = {}, to = {}, next = {}", saved.getFrom(), saved.getTo(), saved.getNext());
+            runner.execute(() -> run(saved));
+        } else {
+            saved.failed("not resumed on startup");
+        }
+    }
+
+    /**
+     * 开始恢复[from, to]，与未完成的任务范围相同时从其进度继续
+     */
+    public synchronized RestoreJob start(long from, long to) throws Exception {
+        if (from < 0 || to < from) {
+            throw new IllegalArgumentException("invalid block range: " + from + " - " + to);
+        }
+        if (to - from >= properties.getMaxBlocks()) {
+            throw new IllegalArgumentException("block range exceeds " + properties.getMaxBlocks());
+        }
+        RestoreJob current = job;
+        if (current != null && current.getStatus() == RestoreJob.Status.RUNNING) {
+            throw new IllegalStateException("restore already running, from = " + current.getFrom() + ", to = " + current.getTo());
+        }
+        RestoreJob saved = RestoreJob.load(jobFile);
+        RestoreJob started = saved != null && saved.getFrom() == from && saved.getTo() == to && saved.getRemaining() > 0
+                ? new RestoreJob(from, to, saved.getNext())
+                : new RestoreJob(from, to, to);
+        started.save(jobFile);
+        job = started;
+        runner.execute(() -> run(started));
+        return started;
+    }
+
+    /**
+     * @return 没有任务时为null
+     */
+    public RestoreJob getJob() {
+        return job;
+    }
+
+    /**
+     * 清除已结束的任务记录，恢复的区块随后按保留窗口重新归档
+     */
+    public synchronized void clear() throws Exception {
+        RestoreJob current = job;
+        if (current != null && current.getStatus() == RestoreJob.Status.RUNNING) {
+            throw new IllegalStateException("restore still running, from = " + current.getFrom() + ", to = " + current.getTo());
+        }
+        Files.deleteIfExists(jobFile);
+        job = null;
+    }
+
+    private void run(RestoreJob job) {
+        Deque<Future<byte[]>> window = new ArrayDeque<>();
+        long nextRead = job.getNext();
+        try {
+            for (long height = job.getNext(); height >= job.getFrom(); height--) {
+                while (window.size() < Math.max(1, properties.getParallelism()) && nextRead >= job.getFrom()) {
+                    long h = nextRead--;
+                    // 序列化也放在读取线程上，发送线程只负责按序发送
+                    window.addLast(readers.submit(() -> chainClient.getArchivedFullBlockByHeight(h).toByteArray()));
+                }
+                byte[] block = window.removeFirst().get();
+                Request.Payload payload = chainClient.createRestoreBlockPayload(block);
+                ResultOuterClass.TxResponse response = chainClient.sendRestoreBlockRequest(payload, properties.getRpcCallTimeout());
+                if (response.getCode() != ResultOuterClass.TxStatusCode.SUCCESS) {
+                    throw new IllegalStateException("restore " + height + " rejected: " + response.getCode() + " " + response.getMessage());
+                }
+                job.advance(height - 1, jobFile);
+                restored.increment();
+            }
+            job.done();
+            log.info("restore done, from = {}, to = {}", job.getFrom(), job.getTo());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.failed("interrupted");
+        } catch (Exception e) {
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            log.warn("restore failed, next = {}, e = {}", job.getNext(), cause.getMessage());
+            job.failed(cause.getMessage());
+        } finally {
+            for (Future<byte[]> future : window) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        runner.shutdownNow();
+        readers.shutdownNow();
+    }
+}
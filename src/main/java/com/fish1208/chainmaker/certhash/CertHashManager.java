@@ -0,0 +1,193 @@
+package com.fish1208.chainmaker.certhash;
+
+import com.fish1208.chainmaker.gateway.ChainCall;
+import com.fish1208.chainmaker.node.NodeClient;
+import com.fish1208.chainmaker.node.NodeClientPool;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.util.encoders.Hex;
+import org.chainmaker.pb.common.ResultOuterClass;
+import org.chainmaker.sdk.ChainClient;
+import org.chainmaker.sdk.SdkException;
+import org.chainmaker.sdk.User;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 启动时为默认链的各个ChainClient注册签名证书并切换到证书哈希模式，交易只携带证书哈希，
+ * 减小交易体积，节点也不必每笔交易重复解析证书。
+ *
+ * 后台定时复查：重建后的节点客户端重新切换；证书已不在链上(被删除、链重置)时先退回完整证书模式再重新注册，
+ * 注册失败时保持完整证书模式。交易被节点以证书原因拒绝时由网关调用resendOnRejection立即退回并重发，不等复查。
+ */
+@Slf4j
+@Component
+public class CertHashManager implements InitializingBean, DisposableBean {
+
+    @Autowired
+    private ChainClient chainClient;
+
+    @Autowired
+    private NodeClientPool nodeClientPool;
+
+    @Autowired
+    private CertHashRegistry certHashRegistry;
+
+    @Autowired
+    private CertHashProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 已切换到证书哈希模式的客户端，重建替换掉的旧客户端随回收移除
+     */
+    private final Set<ChainClient> enabled = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private ScheduledExecutorService scheduler;
+    private Counter registered;
+    private Counter fallbacks;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        registered = Counter.builder("chain.certhash.registered").register(meterRegistry);
+        fallbacks = Counter.builder("chain.certhash.fallbacks").register(meterRegistry);
+        Gauge.builder("chain.certhash.enabled", enabled, Set::size).register(meterRegistry);
+
+        // 启动时同步执行一次，接流量前完成切换
+        checkAll();
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "chain-cert-hash");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::checkAll, properties.getCheckInterval(), properties.getCheckInterval(), TimeUnit.MILLISECONDS);
+    }
+
+    private void checkAll() {
+        Set<ChainClient> clients = new LinkedHashSet<>();
+        clients.add(chainClient);
+        for (NodeClient node : nodeClientPool.getNodes()) {
+            clients.add(node.getChainClient());
+        }
+        for (ChainClient client : clients) {
+            try {
+                check(client);
+            } catch (Exception e) {
+                log.warn("cert hash check failed, keep current mode, chainId = {}, e = {}", client.getChainId(), e.getMessage());
+            }
+        }
+    }
+
+    private void check(ChainClient client) throws Exception {
+        String certHash = certHash(client.getClientUser());
+        if (!certHashRegistry.isRegistered(client, certHash)) {
+            if (enabled.remove(client)) {
+                // 链上已查不到该证书，继续用哈希发交易会被节点拒绝
+                fallback(client);
+                log.warn("cert hash no longer on chain, fallback to full cert, certHash = {}", certHash);
+            }
+            register(client, certHash);
+        }
+        if (!enabled.contains(client)) {
+            client.enableCertHash();
+            enabled.add(client);
+            log.info("cert hash enabled, chainId = {}, certHash = {}", client.getChainId(), certHash);
+        }
+    }
+
+    private void register(ChainClient client, String certHash) throws Exception {
+        client.addCert(properties.getRpcCallTimeout());
+        long deadline = System.currentTimeMillis() + properties.getRegisterTimeout();
+        while (true) {
+            certHashRegistry.invalidate(certHash);
+            if (certHashRegistry.isRegistered(client, certHash)) {
+                registered.increment();
+                log.info("cert registered on chain, certHash = {}", certHash);
+                return;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                throw new IllegalStateException("cert not found on chain after addCert, certHash = " + certHash);
+            }
+            Thread.sleep(500);
+        }
+    }
+
+    private String certHash(User user) throws Exception {
+        byte[] certHash = user.getCertHash();
+        if (certHash != null && certHash.length > 0) {
+            return Hex.toHexString(certHash);
+        }
+        MessageDigest digest = MessageDigest.getInstance(properties.getHashAlgorithm());
+        return Hex.toHexString(digest.digest(user.getCertificate().getEncoded()));
+    }
+
+    /**
+     * 交易以证书原因被拒绝时退回完整证书模式并重发一次，下次复查再重新注册切换。
+     * 被拒绝的交易未进入交易池，按原txId重发不会重复上链。
+     *
+     * @param result 本次调用的结果，不是被拒绝的交易时原样返回
+     */
+    public <T> T resendOnRejection(ChainClient client, ChainCall<T> call, T result) throws SdkException {
+        if (!properties.isEnabled() || !isCertRejection(result)) {
+            return result;
+        }
+        if (enabled.remove(client)) {
+            fallback(client);
+            log.warn("tx rejected in cert hash mode, resend with full cert, chainId = {}, msg = {}",
+                    client.getChainId(), ((ResultOuterClass.TxResponse) result).getMessage());
+        }
+        return call.call(client);
+    }
+
+    private static boolean isCertRejection(Object result) {
+        if (!(result instanceof ResultOuterClass.TxResponse)) {
+            return false;
+        }
+        ResultOuterClass.TxResponse response = (ResultOuterClass.TxResponse) result;
+        return response.getCode() != ResultOuterClass.TxStatusCode.SUCCESS
+                && response.getCode() != ResultOuterClass.TxStatusCode.TIMEOUT
+                && response.getCode() != ResultOuterClass.TxStatusCode.CONTRACT_FAIL
+                && response.getMessage().toLowerCase().contains("cert");
+    }
+
+    /**
+     * 调用前已从enabled移除，同一客户端只退回一次
+     */
+    private void fallback(ChainClient client) {
+        fallbacks.increment();
+        try {
+            client.disableCertHash();
+        } catch (Exception e) {
+            log.warn("disable cert hash failed, e = {}", e.getMessage());
+        }
+        try {
+            certHashRegistry.invalidate(certHash(client.getClientUser()));
+        } catch (Exception e) {
+            log.warn("invalidate cert hash cache failed, e = {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
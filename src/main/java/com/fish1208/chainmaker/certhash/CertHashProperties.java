@@ -0,0 +1,41 @@
+package com.fish1208.chainmaker.certhash;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 证书哈希模式配置：交易中只携带签名证书的哈希，不再携带完整证书
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chain-gateway.cert-hash")
+public class CertHashProperties {
+
+    /**
+     * 启动时自动上链注册证书并切换到证书哈希模式，默认关闭，开启后每次启动都会检查并按需addCert
+     */
+    private boolean enabled = false;
+
+    /**
+     * 证书哈希算法，与链配置的hash算法一致
+     */
+    private String hashAlgorithm = "SHA-256";
+
+    /**
+     * queryCert结果缓存时间(毫秒)
+     */
+    private long cacheTtl = 60000;
+
+    /**
+     * 定时复查证书是否仍在链上、新建的客户端是否已切换的间隔(毫秒)
+     */
+    private long checkInterval = 30000;
+
+    /**
+     * 注册证书后等待链上可查的最长时间(毫秒)
+     */
+    private long registerTimeout = 10000;
+
+    private long rpcCallTimeout = 5000;
+}
@@ -0,0 +1,60 @@
+package com.fish1208.chainmaker.certhash;
+
+import org.chainmaker.pb.common.ResultOuterClass;
+import org.chainmaker.sdk.ChainClient;
+import org.chainmaker.sdk.SdkException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 链上证书哈希缓存，缓存queryCert的结果，避免每次检查都查询链
+ */
+@Component
+public class CertHashRegistry {
+
+    @Autowired
+    private CertHashProperties properties;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * @param certHash 十六进制证书哈希
+     */
+    public boolean isRegistered(ChainClient client, String certHash) throws SdkException {
+        Entry entry = entries.get(certHash);
+        if (entry != null && System.currentTimeMillis() - entry.checkedAt < properties.getCacheTtl()) {
+            return entry.registered;
+        }
+        boolean registered = query(client, certHash);
+        entries.put(certHash, new Entry(registered, System.currentTimeMillis()));
+        return registered;
+    }
+
+    public void invalidate(String certHash) {
+        entries.remove(certHash);
+    }
+
+    private boolean query(ChainClient client, String certHash) throws SdkException {
+        ResultOuterClass.CertInfos certInfos = client.queryCert(new String[]{certHash}, properties.getRpcCallTimeout());
+        for (ResultOuterClass.CertInfo certInfo : certInfos.getCertInfosList()) {
+            if (certHash.equalsIgnoreCase(certInfo.getHash()) && !certInfo.getCert().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class Entry {
+
+        private final boolean registered;
+        private final long checkedAt;
+
+        private Entry(boolean registered, long checkedAt) {
+            this.registered = registered;
+            this.checkedAt = checkedAt;
+        }
+    }
+}
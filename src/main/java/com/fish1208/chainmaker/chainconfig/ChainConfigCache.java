@@ -0,0 +1,197 @@
+package com.fish1208.chainmaker.chainconfig;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.chainmaker.pb.common.ChainmakerBlock;
+import org.chainmaker.pb.common.ResultOuterClass;
+import org.chainmaker.pb.config.ChainConfigOuterClass;
+import org.chainmaker.sdk.ChainClient;
+import org.chainmaker.sdk.SdkException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 默认链的链配置缓存，权限、信任根、共识节点等查询直接读本地。
+ *
+ * 每个区块头都带有最近一次配置区块的高度(preConfHeight)，订阅区块头发现它变化时才重新拉取配置；
+ * 订阅断开期间由定时的getChainConfigSequence兜底。本进程提交配置变更后调用invalidate立即失效。
+ */
+@Slf4j
+@Component
+public class ChainConfigCache implements InitializingBean, DisposableBean {
+
+    @Autowired
+    private ChainClient chainClient;
+
+    @Autowired
+    private ChainConfigProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private volatile ChainConfigOuterClass.ChainConfig config;
+    private volatile long confHeight = -1;
+
+    private ScheduledExecutorService scheduler;
+    private Counter refreshes;
+    private int generation;
+
+    @Override
+    public void afterPropertiesSet() {
+        refreshes = Counter.builder("chain.config.refreshes").register(meterRegistry);
+        Gauge.builder("chain.config.sequence", this, cache -> {
+            ChainConfigOuterClass.ChainConfig current = cache.config;
+            return current == null ? -1 : current.getSequence();
+        }).register(meterRegistry);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "chain-config-cache");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (properties.isSubscribe()) {
+            scheduler.execute(this::subscribe);
+        }
+        scheduler.scheduleWithFixedDelay(this::checkSequence, properties.getCheckInterval(), properties.getCheckInterval(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 当前链配置，缓存为空时从链上拉取
+     */
+    public ChainConfigOuterClass.ChainConfig get() throws SdkException {
+        ChainConfigOuterClass.ChainConfig current = config;
+        if (current != null) {
+            return current;
+        }
+        // 缓存失效时并发的读取只拉取一次
+        synchronized (this) {
+            current = config;
+            return current != null ? current : refresh();
+        }
+    }
+
+    public long getSequence() throws SdkException {
+        return get().getSequence();
+    }
+
+    public List<ChainConfigOuterClass.TrustRootConfig> getTrustRoots(String orgId) throws SdkException {
+        return ChainConfigs.trustRoots(get(), orgId);
+    }
+
+    public ChainConfigOuterClass.ResourcePolicy getPermission(String resourceName) throws SdkException {
+        return ChainConfigs.permission(get(), resourceName);
+    }
+
+    public ChainConfigOuterClass.OrgConfig getConsensusOrg(String orgId) throws SdkException {
+        return ChainConfigs.consensusOrg(get(), orgId);
+    }
+
+    /**
+     * 丢弃缓存，下次读取时重新拉取
+     */
+    public void invalidate() {
+        config = null;
+    }
+
+    /**
+     * 从链上拉取最新配置
+     */
+    public synchronized ChainConfigOuterClass.ChainConfig refresh() throws SdkException {
+        ChainConfigOuterClass.ChainConfig latest = chainClient.getChainConfig(properties.getRpcCallTimeout());
+        ChainConfigOuterClass.ChainConfig previous = config;
+        config = latest;
+        refreshes.increment();
+        if (previous == null || previous.getSequence() != latest.getSequence()) {
+            log.info("chain config loaded, sequence = {}", latest.getSequence());
+        }
+        return latest;
+    }
+
+    private void subscribe() {
+        int current = ++generation;
+        try {
+            // 起止高度为-1表示只订阅新产生的区块，只要区块头
+            chainClient.subscribeBlock(-1, -1, false, true, new StreamObserver<ResultOuterClass.SubscribeResult>() {
+                @Override
+                public void onNext(ResultOuterClass.SubscribeResult result) {
+                    try {
+                        ChainmakerBlock.BlockHeader header = ChainmakerBlock.BlockHeader.parseFrom(result.getData());
+                        scheduler.execute(() -> onHeader(header));
+                    } catch (InvalidProtocolBufferException e) {
+                        log.error("invalid block header", e);
+                    }
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    log.warn("chain config subscription broken, e = {}", throwable.getMessage());
+                    scheduler.execute(() -> {
+                        if (current == generation) {
+                            scheduler.schedule(ChainConfigCache.this::subscribe, properties.getResubscribeDelay(), TimeUnit.MILLISECONDS);
+                        }
+                    });
+                }
+
+                @Override
+                public void onCompleted() {
+                    onError(new IllegalStateException("subscription completed"));
+                }
+            });
+        } catch (SdkException | RuntimeException e) {
+            log.warn("subscribe block header failed, e = {}", e.getMessage());
+            scheduler.schedule(this::subscribe, properties.getResubscribeDelay(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void onHeader(ChainmakerBlock.BlockHeader header) {
+        long preConfHeight = header.getPreConfHeight();
+        if (preConfHeight == confHeight) {
+            return;
+        }
+        boolean first = confHeight < 0;
+        confHeight = preConfHeight;
+        // 首个区块头只记录基准，缓存为空时由读取方按需拉取
+        if (first && config == null) {
+            return;
+        }
+        try {
+            refresh();
+        } catch (SdkException | RuntimeException e) {
+            log.warn("refresh chain config failed, e = {}", e.getMessage());
+            invalidate();
+        }
+    }
+
+    private void checkSequence() {
+        ChainConfigOuterClass.ChainConfig current = config;
+        if (current == null) {
+            return;
+        }
+        try {
+            long sequence = chainClient.getChainConfigSequence(properties.getRpcCallTimeout());
+            if (sequence != current.getSequence()) {
+                refresh();
+            }
+        } catch (SdkException | RuntimeException e) {
+            log.warn("check chain config sequence failed, e = {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
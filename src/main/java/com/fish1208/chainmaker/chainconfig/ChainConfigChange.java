@@ -0,0 +1,52 @@
+package com.fish1208.chainmaker.chainconfig;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 单项链配置变更，按type使用对应字段
+ */
+@Data
+public class ChainConfigChange {
+
+    private ChainConfigChangeType type;
+
+    /**
+     * 信任根、共识节点、共识组织变更的组织ID
+     */
+    private String orgId;
+
+    /**
+     * TRUST_ROOT_ADD/UPDATE的PEM证书
+     */
+    private List<String> certs = new ArrayList<>();
+
+    /**
+     * PERMISSION_*的资源名
+     */
+    private String resourceName;
+
+    /**
+     * PERMISSION_ADD/UPDATE的策略
+     */
+    private String rule;
+    private List<String> orgList = new ArrayList<>();
+    private List<String> roleList = new ArrayList<>();
+
+    /**
+     * CONSENSUS_NODE_ADD、CONSENSUS_ORG_ADD/UPDATE的节点ID
+     */
+    private List<String> nodeIds = new ArrayList<>();
+
+    /**
+     * CONSENSUS_NODE_UPDATE/DELETE的原节点ID
+     */
+    private String nodeId;
+
+    /**
+     * CONSENSUS_NODE_UPDATE的新节点ID
+     */
+    private String newNodeId;
+}
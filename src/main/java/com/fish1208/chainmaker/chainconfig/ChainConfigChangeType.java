@@ -0,0 +1,23 @@
+package com.fish1208.chainmaker.chainconfig;
+
+/**
+ * 支持批量提交的链配置变更
+ */
+public enum ChainConfigChangeType {
+
+    TRUST_ROOT_ADD,
+    TRUST_ROOT_UPDATE,
+    TRUST_ROOT_DELETE,
+
+    PERMISSION_ADD,
+    PERMISSION_UPDATE,
+    PERMISSION_DELETE,
+
+    CONSENSUS_NODE_ADD,
+    CONSENSUS_NODE_UPDATE,
+    CONSENSUS_NODE_DELETE,
+
+    CONSENSUS_ORG_ADD,
+    CONSENSUS_ORG_UPDATE,
+    CONSENSUS_ORG_DELETE
+}
@@ -0,0 +1,41 @@
+package com.fish1208.chainmaker.chainconfig;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 链配置缓存配置
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chain-gateway.chain-config")
+public class ChainConfigProperties {
+
+    /**
+     * 订阅新区块头，区块头的preConfHeight变化时刷新缓存
+     */
+    private boolean subscribe = true;
+
+    /**
+     * 订阅断开后重新订阅的等待时间(毫秒)
+     */
+    private long resubscribeDelay = 3000;
+
+    /**
+     * 兜底检查配置序号的间隔(毫秒)，订阅断开期间也能发现配置变更
+     */
+    private long checkInterval = 30000;
+
+    private long rpcCallTimeout = 10000;
+
+    /**
+     * 批量变更时构建payload和背书的线程数，0表示CPU核数
+     */
+    private int updateThreads = 0;
+
+    /**
+     * 批量变更提交后等待全部上链的最长时间(毫秒)
+     */
+    private long updateTimeout = 60000;
+}
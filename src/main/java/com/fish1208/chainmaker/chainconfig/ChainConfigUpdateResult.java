@@ -0,0 +1,35 @@
+package com.fish1208.chainmaker.chainconfig;
+
+import lombok.Data;
+
+/**
+ * 批量变更中单项的执行结果
+ */
+@Data
+public class ChainConfigUpdateResult {
+
+    public enum Status {
+        SUCCESS,
+        FAILED,
+        /**
+         * 前面的变更提交失败，未提交
+         */
+        NOT_SUBMITTED,
+        /**
+         * 已提交，等待超时仍未上链
+         */
+        TIMEOUT
+    }
+
+    private int index;
+
+    private ChainConfigChangeType type;
+
+    private long sequence;
+
+    private String txId;
+
+    private Status status;
+
+    private String message;
+}
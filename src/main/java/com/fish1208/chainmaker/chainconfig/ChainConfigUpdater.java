@@ -0,0 +1,307 @@
+package com.fish1208.chainmaker.chainconfig;
+
+import cn.hutool.core.util.StrUtil;
+import com.fish1208.chainmaker.endorse.Endorsements;
+import com.fish1208.chainmaker.gateway.ChainGateway;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.chainmaker.pb.accesscontrol.PolicyOuterClass;
+import org.chainmaker.pb.common.Request;
+import org.chainmaker.pb.common.ResultOuterClass;
+import org.chainmaker.pb.config.ChainConfigOuterClass;
+import org.chainmaker.sdk.ChainClient;
+import org.chainmaker.sdk.SdkException;
+import org.chainmaker.sdk.User;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 批量链配置变更：按缓存的链配置校验整批变更，并行构建payload并由各组织管理员并行背书，
+ * 按配置序号依次连续提交，不等待上一项上链，最后统一等待结果。
+ *
+ * 每项变更的sequence为当前配置序号加上其在批次中的位置，节点按序执行；
+ * 某项失败后其后的变更序号不再连续，会随之失败，结果中如实返回，由调用方修正后重新提交剩余部分。
+ * 序号基于同一份配置连续编号，同一时间只允许一个批次，其它批次直接拒绝。
+ */
+@Slf4j
+@Component
+public class ChainConfigUpdater implements DisposableBean {
+
+    private final ChainGateway chainGateway;
+    private final ChainConfigCache chainConfigCache;
+    private final ChainConfigProperties properties;
+    private final User[] admins;
+    private final ExecutorService executor;
+    private final ReentrantLock applying = new ReentrantLock();
+
+    private final Counter submitted;
+    private final Counter failed;
+
+    public ChainConfigUpdater(ChainGateway chainGateway, ChainConfigCache chainConfigCache, ChainConfigProperties properties,
+                              @Qualifier("adminUser1") User adminUser1, @Qualifier("adminUser2") User adminUser2,
+                              @Qualifier("adminUser3") User adminUser3, MeterRegistry meterRegistry) {
+        this.chainGateway = chainGateway;
+        this.chainConfigCache = chainConfigCache;
+        this.properties = properties;
+        this.admins = new User[]{adminUser1, adminUser2, adminUser3};
+        int threads = properties.getUpdateThreads() > 0 ? properties.getUpdateThreads() : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "chain-config-update-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.submitted = Counter.builder("chain.config.update.submitted").register(meterRegistry);
+        this.failed = Counter.builder("chain.config.update.failed").register(meterRegistry);
+    }
+
+    /**
+     * 校验不通过时抛出IllegalArgumentException，已有批次在执行时抛出IllegalStateException，均不提交任何变更
+     */
+    public List<ChainConfigUpdateResult> apply(List<ChainConfigChange> changes) throws SdkException {
+        if (!applying.tryLock()) {
+            throw new IllegalStateException("another chain config update is in progress");
+        }
+        try {
+            return applyLocked(changes);
+        } finally {
+            applying.unlock();
+        }
+    }
+
+    private List<ChainConfigUpdateResult> applyLocked(List<ChainConfigChange> changes) throws SdkException {
+        // 序号必须准确，不使用可能滞后一个区块的缓存
+        ChainConfigOuterClass.ChainConfig config = chainConfigCache.refresh();
+        List<String> errors = validate(config, changes);
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException(String.join("; ", errors));
+        }
+        long base = config.getSequence();
+        ChainClient client = chainGateway.getChainClient();
+
+        // 1. 并行构建payload并背书
+        List<Future<Request.Payload>> payloadFutures = new ArrayList<>(changes.size());
+        for (int i = 0; i < changes.size(); i++) {
+            ChainConfigChange change = changes.get(i);
+            long sequence = base + i + 1;
+            payloadFutures.add(executor.submit(() -> buildPayload(client, change).toBuilder().setSequence(sequence).build()));
+        }
+        List<Request.Payload> payloads = Endorsements.awaitAll(payloadFutures);
+        List<List<Future<Request.EndorsementEntry[]>>> endorseFutures = new ArrayList<>(payloads.size());
+        for (Request.Payload payload : payloads) {
+            endorseFutures.add(Endorsements.endorse(executor, payload, admins));
+        }
+
+        // 有变更提交后无论是否正常返回都让缓存失效
+        try {
+            // 2. 按序号依次提交，不等待上链
+            List<ChainConfigUpdateResult> results = new ArrayList<>(changes.size());
+            boolean broken = false;
+            for (int i = 0; i < payloads.size(); i++) {
+                Request.Payload payload = payloads.get(i);
+                ChainConfigUpdateResult result = new ChainConfigUpdateResult();
+                result.setIndex(i);
+                result.setType(changes.get(i).getType());
+                result.setSequence(payload.getSequence());
+                result.setTxId(payload.getTxId());
+                results.add(result);
+                if (broken) {
+                    result.setStatus(ChainConfigUpdateResult.Status.NOT_SUBMITTED);
+                    continue;
+                }
+                try {
+                    Request.EndorsementEntry[] endorsements = Endorsements.await(endorseFutures.get(i));
+                    ResultOuterClass.TxResponse response = chainGateway.manage(c -> c.updateChainConfig(payload, endorsements,
+                            properties.getRpcCallTimeout(), 0));
+                    if (response.getCode() != ResultOuterClass.TxStatusCode.SUCCESS) {
+                        throw new IllegalStateException(response.getCode() + " " + response.getMessage());
+                    }
+                    submitted.increment();
+                } catch (SdkException | RuntimeException e) {
+                    log.warn("submit chain config change failed, index = {}, sequence = {}, e = {}", i, payload.getSequence(), e.getMessage());
+                    result.setStatus(ChainConfigUpdateResult.Status.FAILED);
+                    result.setMessage(e.getMessage());
+                    broken = true;
+                }
+            }
+
+            // 3. 等待已提交的变更上链
+            long deadline = System.currentTimeMillis() + properties.getUpdateTimeout();
+            for (ChainConfigUpdateResult result : results) {
+                if (result.getStatus() == null) {
+                    await(result, deadline);
+                }
+                if (result.getStatus() != ChainConfigUpdateResult.Status.SUCCESS) {
+                    failed.increment();
+                }
+            }
+            return results;
+        } finally {
+            chainConfigCache.invalidate();
+        }
+    }
+
+    /**
+     * 在当前配置上依次模拟整批变更，返回全部错误
+     */
+    List<String> validate(ChainConfigOuterClass.ChainConfig config, List<ChainConfigChange> changes) {
+        Set<String> trustRootOrgs = new HashSet<>();
+        for (ChainConfigOuterClass.TrustRootConfig trustRoot : config.getTrustRootsList()) {
+            trustRootOrgs.add(trustRoot.getOrgId());
+        }
+        Set<String> resources = new HashSet<>();
+        for (ChainConfigOuterClass.ResourcePolicy policy : config.getResourcePoliciesList()) {
+            resources.add(policy.getResourceName());
+        }
+        Set<String> consensusOrgs = new HashSet<>();
+        for (ChainConfigOuterClass.OrgConfig org : config.getConsensus().getNodesList()) {
+            consensusOrgs.add(org.getOrgId());
+        }
+
+        List<String> errors = new ArrayList<>();
+        if (changes.isEmpty()) {
+            errors.add("no changes");
+        }
+        for (int i = 0; i < changes.size(); i++) {
+            ChainConfigChange change = changes.get(i);
+            String error = validate(change, trustRootOrgs, resources, consensusOrgs);
+            if (error != null) {
+                errors.add("[" + i + "] " + error);
+            }
+        }
+        return errors;
+    }
+
+    private static String validate(ChainConfigChange change, Set<String> trustRootOrgs, Set<String> resources, Set<String> consensusOrgs) {
+        if (change.getType() == null) {
+            return "type is required";
+        }
+        String orgId = change.getOrgId();
+        switch (change.getType()) {
+            case TRUST_ROOT_ADD:
+                if (change.getCerts().isEmpty()) {
+                    return "certs is required";
+                }
+                return trustRootOrgs.add(orgId) ? null : "trust root already exists: " + orgId;
+            case TRUST_ROOT_UPDATE:
+                if (change.getCerts().isEmpty()) {
+                    return "certs is required";
+                }
+                return trustRootOrgs.contains(orgId) ? null : "trust root not found: " + orgId;
+            case TRUST_ROOT_DELETE:
+                return trustRootOrgs.remove(orgId) ? null : "trust root not found: " + orgId;
+            case PERMISSION_ADD:
+                if (StrUtil.isBlank(change.getRule())) {
+                    return "rule is required";
+                }
+                return resources.add(change.getResourceName()) ? null : "permission already exists: " + change.getResourceName();
+            case PERMISSION_UPDATE:
+                if (StrUtil.isBlank(change.getRule())) {
+                    return "rule is required";
+                }
+                return resources.contains(change.getResourceName()) ? null : "permission not found: " + change.getResourceName();
+            case PERMISSION_DELETE:
+                return resources.remove(change.getResourceName()) ? null : "permission not found: " + change.getResourceName();
+            case CONSENSUS_NODE_ADD:
+                if (change.getNodeIds().isEmpty()) {
+                    return "nodeIds is required";
+                }
+                return consensusOrgs.contains(orgId) ? null : "consensus org not found: " + orgId;
+            case CONSENSUS_NODE_UPDATE:
+                if (StrUtil.isBlank(change.getNodeId()) || StrUtil.isBlank(change.getNewNodeId())) {
+                    return "nodeId and newNodeId are required";
+                }
+                return consensusOrgs.contains(orgId) ? null : "consensus org not found: " + orgId;
+            case CONSENSUS_NODE_DELETE:
+                if (StrUtil.isBlank(change.getNodeId())) {
+                    return "nodeId is required";
+                }
+                return consensusOrgs.contains(orgId) ? null : "consensus org not found: " + orgId;
+            case CONSENSUS_ORG_ADD:
+                if (change.getNodeIds().isEmpty()) {
+                    return "nodeIds is required";
+                }
+                return consensusOrgs.add(orgId) ? null : "consensus org already exists: " + orgId;
+            case CONSENSUS_ORG_UPDATE:
+                if (change.getNodeIds().isEmpty()) {
+                    return "nodeIds is required";
+                }
+                return consensusOrgs.contains(orgId) ? null : "consensus org not found: " + orgId;
+            case CONSENSUS_ORG_DELETE:
+                return consensusOrgs.remove(orgId) ? null : "consensus org not found: " + orgId;
+            default:
+                return "unsupported type: " + change.getType();
+        }
+    }
+
+    private Request.Payload buildPayload(ChainClient client, ChainConfigChange change) throws SdkException {
+        long timeout = properties.getRpcCallTimeout();
+        String orgId = change.getOrgId();
+        String[] nodeIds = change.getNodeIds().toArray(new String[0]);
+        switch (change.getType()) {
+            case TRUST_ROOT_ADD:
+                return client.createPayloadOfChainConfigTrustRootAdd(orgId, change.getCerts().toArray(new String[0]), timeout);
+            case TRUST_ROOT_UPDATE:
+                return client.createPayloadOfChainConfigTrustRootUpdate(orgId, change.getCerts().toArray(new String[0]), timeout);
+            case TRUST_ROOT_DELETE:
+                return client.createPayloadOfChainConfigTrustRootDelete(orgId, timeout);
+            case PERMISSION_ADD:
+                return client.createPayloadOfChainConfigPermissionAdd(change.getResourceName(), policy(change), timeout);
+            case PERMISSION_UPDATE:
+                return client.createPayloadOfChainConfigPermissionUpdate(change.getResourceName(), policy(change), timeout);
+            case PERMISSION_DELETE:
+                return client.createPayloadOfChainConfigPermissionDelete(change.getResourceName(), timeout);
+            case CONSENSUS_NODE_ADD:
+                return client.createPayloadOfChainConfigConsensusNodeAddrAdd(orgId, nodeIds, timeout);
+            case CONSENSUS_NODE_UPDATE:
+                return client.createPayloadOfChainConfigConsensusNodeAddrUpdate(orgId, change.getNodeId(), change.getNewNodeId(), timeout);
+            case CONSENSUS_NODE_DELETE:
+                return client.createPayloadOfChainConfigConsensusNodeAddrDelete(orgId, change.getNodeId(), timeout);
+            case CONSENSUS_ORG_ADD:
+                return client.createPayloadOfChainConfigConsensusNodeOrgAdd(orgId, nodeIds, timeout);
+            case CONSENSUS_ORG_UPDATE:
+                return client.createPayloadOfChainConfigConsensusNodeOrgUpdate(orgId, nodeIds, timeout);
+            case CONSENSUS_ORG_DELETE:
+                return client.createPayloadOfChainConfigConsensusNodeOrgDelete(orgId, timeout);
+            default:
+                throw new IllegalArgumentException("unsupported type: " + change.getType());
+        }
+    }
+
+    private static PolicyOuterClass.Policy policy(ChainConfigChange change) {
+        return PolicyOuterClass.Policy.newBuilder()
+                .setRule(change.getRule())
+                .addAllOrgList(change.getOrgList())
+                .addAllRoleList(change.getRoleList())
+                .build();
+    }
+
+    private void await(ChainConfigUpdateResult result, long deadline) {
+        ResultOuterClass.Result txResult = Endorsements.awaitResult(chainGateway, result.getTxId(), properties.getRpcCallTimeout(), deadline);
+        if (txResult == null) {
+            result.setStatus(ChainConfigUpdateResult.Status.TIMEOUT);
+        } else if (txResult.getCode() == ResultOuterClass.TxStatusCode.SUCCESS) {
+            result.setStatus(ChainConfigUpdateResult.Status.SUCCESS);
+        } else {
+            result.setStatus(ChainConfigUpdateResult.Status.FAILED);
+            result.setMessage(txResult.getCode() + " " + txResult.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
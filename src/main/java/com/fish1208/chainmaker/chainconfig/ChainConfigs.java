@@ -0,0 +1,52 @@
+package com.fish1208.chainmaker.chainconfig;
+
+import org.chainmaker.pb.config.ChainConfigOuterClass;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 链配置中的常用查找
+ */
+public final class ChainConfigs {
+
+    private ChainConfigs() {
+    }
+
+    /**
+     * @param orgId 为null时返回全部组织
+     */
+    public static List<ChainConfigOuterClass.TrustRootConfig> trustRoots(ChainConfigOuterClass.ChainConfig config, String orgId) {
+        List<ChainConfigOuterClass.TrustRootConfig> trustRoots = new ArrayList<>();
+        for (ChainConfigOuterClass.TrustRootConfig trustRoot : config.getTrustRootsList()) {
+            if (orgId == null || orgId.equals(trustRoot.getOrgId())) {
+                trustRoots.add(trustRoot);
+            }
+        }
+        return trustRoots;
+    }
+
+    /**
+     * @return 未配置时为null
+     */
+    public static ChainConfigOuterClass.ResourcePolicy permission(ChainConfigOuterClass.ChainConfig config, String resourceName) {
+        for (ChainConfigOuterClass.ResourcePolicy policy : config.getResourcePoliciesList()) {
+            if (policy.getResourceName().equals(resourceName)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return 不是共识组织时为null
+     */
+    public static ChainConfigOuterClass.OrgConfig consensusOrg(ChainConfigOuterClass.ChainConfig config, String orgId) {
+        for (ChainConfigOuterClass.OrgConfig org : config.getConsensus().getNodesList()) {
+            if (org.getOrgId().equals(orgId)) {
+                return org;
+            }
+        }
+        return null;
+    }
+}
@@ -46,19 +46,7 @@ public class ChainSDKConfig {
     @Bean
     public ChainClient getChainClient() throws IOException, SdkException {
 
-        SdkConfig sdkConfig = getSdkConfig();
-        for (NodeConfig nodeConfig : sdkConfig.getChain_client().getNodes()) {
-            List<byte[]> tlsCaCertList = new ArrayList<>();
-            for (String rootPath : nodeConfig.getTrustRootPaths()){
-                List<String> filePathList = FileUtils.getFilesByPath(rootPath);
-                for (String filePath : filePathList) {
-                    tlsCaCertList.add(FileUtils.getFileBytes(filePath));
-                }
-            }
-            byte[][] tlsCaCerts = new byte[tlsCaCertList.size()][];
-            tlsCaCertList.toArray(tlsCaCerts);
-            nodeConfig.setTrustRootBytes(tlsCaCerts);
-        }
+        SdkConfig sdkConfig = loadSdkConfig();
 
         ChainManager chainManager = ChainManager.getInstance();
         ChainClient chainClient = chainManager.getChainClient(sdkConfig.getChain_client().getChainId());
@@ -96,9 +84,36 @@ public class ChainSDKConfig {
         return adminUser3;
     }
 
-    private SdkConfig getSdkConfig() throws IOException{
+    /**
+     * 读取sdk配置并加载各节点的信任证书，每次调用返回新的SdkConfig对象
+     */
+    public SdkConfig loadSdkConfig() throws IOException, SdkException {
+        return loadSdkConfig(configPath);
+    }
+
+    /**
+     * 读取指定的sdk配置文件，用于默认链之外的其它链
+     */
+    public SdkConfig loadSdkConfig(Resource path) throws IOException, SdkException {
+        SdkConfig sdkConfig = getSdkConfig(path);
+        for (NodeConfig nodeConfig : sdkConfig.getChain_client().getNodes()) {
+            List<byte[]> tlsCaCertList = new ArrayList<>();
+            for (String rootPath : nodeConfig.getTrustRootPaths()){
+                List<String> filePathList = FileUtils.getFilesByPath(rootPath);
+                for (String filePath : filePathList) {
+                    tlsCaCertList.add(FileUtils.getFileBytes(filePath));
+                }
+            }
+            byte[][] tlsCaCerts = new byte[tlsCaCertList.size()][];
+            tlsCaCertList.toArray(tlsCaCerts);
+            nodeConfig.setTrustRootBytes(tlsCaCerts);
+        }
+        return sdkConfig;
+    }
+
+    private SdkConfig getSdkConfig(Resource path) throws IOException{
         Yaml yaml = new Yaml();
-        InputStream in = configPath.getInputStream();
+        InputStream in = path.getInputStream();
         SdkConfig sdkConfig;
         try{
             sdkConfig = yaml.loadAs(in, SdkConfig.class);
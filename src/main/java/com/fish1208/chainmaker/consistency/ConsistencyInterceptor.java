@@ -0,0 +1,33 @@
+package com.fish1208.chainmaker.consistency;
+
+import cn.hutool.core.util.StrUtil;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 读取请求头中的最低区块高度，请求结束后清理
+ */
+@Component
+public class ConsistencyInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String minHeight = request.getHeader(ReadConsistency.MIN_HEIGHT_HEADER);
+        if (StrUtil.isNotBlank(minHeight)) {
+            try {
+                ReadConsistency.setMinHeight(Long.parseLong(minHeight.trim()));
+            } catch (NumberFormatException e) {
+                // 格式错误按未携带处理，不影响请求本身
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReadConsistency.clear();
+    }
+}
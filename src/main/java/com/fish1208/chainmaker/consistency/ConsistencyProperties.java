@@ -0,0 +1,19 @@
+package com.fish1208.chainmaker.consistency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 读己之写配置：上链响应返回交易所在区块高度，读请求携带该高度时只路由到已追上的节点
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chain-gateway.consistency")
+public class ConsistencyProperties {
+
+    /**
+     * 上链成功后在响应头X-Block-Height中返回交易所在区块高度
+     */
+    private boolean returnWriteHeight = true;
+}
@@ -0,0 +1,18 @@
+package com.fish1208.chainmaker.consistency;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class ConsistencyWebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ConsistencyInterceptor consistencyInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(consistencyInterceptor);
+    }
+}
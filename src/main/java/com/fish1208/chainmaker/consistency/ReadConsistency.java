@@ -0,0 +1,55 @@
+package com.fish1208.chainmaker.consistency;
+
+/**
+ * 当前请求的一致性要求和本次请求中成功上链的交易
+ */
+public final class ReadConsistency {
+
+    public static final String MIN_HEIGHT_HEADER = "X-Min-Block-Height";
+    public static final String WRITE_HEIGHT_HEADER = "X-Block-Height";
+    /**
+     * 没有节点达到要求高度，读的是最高节点，调用方可稍后重试
+     */
+    public static final String STALE_HEADER = "X-Read-Stale";
+
+    private static final ThreadLocal<Long> MIN_HEIGHT = new ThreadLocal<>();
+    private static final ThreadLocal<String> LAST_WRITE = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> STALE = new ThreadLocal<>();
+
+    private ReadConsistency() {
+    }
+
+    /**
+     * @return 未要求时为-1
+     */
+    public static long getMinHeight() {
+        Long height = MIN_HEIGHT.get();
+        return height == null ? -1 : height;
+    }
+
+    public static void setMinHeight(long height) {
+        MIN_HEIGHT.set(height);
+    }
+
+    public static void recordWrite(String txId) {
+        LAST_WRITE.set(txId);
+    }
+
+    public static String getLastWrite() {
+        return LAST_WRITE.get();
+    }
+
+    public static void markStale() {
+        STALE.set(Boolean.TRUE);
+    }
+
+    public static boolean isStale() {
+        return STALE.get() != null;
+    }
+
+    public static void clear() {
+        MIN_HEIGHT.remove();
+        LAST_WRITE.remove();
+        STALE.remove();
+    }
+}
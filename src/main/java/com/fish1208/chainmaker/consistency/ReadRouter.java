@@ -0,0 +1,127 @@
+package com.fish1208.chainmaker.consistency;
+
+import com.fish1208.chainmaker.node.NodeClient;
+import com.fish1208.chainmaker.node.NodeClientPool;
+import com.fish1208.chainmaker.node.NodeProbeProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 按请求要求的最低区块高度选择读节点，在请求线程上提交调度前调用，不占用调度通道和限流名额。
+ *
+ * 节点高度由NodeHealthProber定时更新，已达到要求的节点直接使用；
+ * 都未达到时不等待，直接读最高的节点并标记X-Read-Stale，同时在后台刷新节点高度，调用方稍后重试即可。
+ */
+@Slf4j
+@Component
+public class ReadRouter implements DisposableBean {
+
+    private final NodeClientPool nodeClientPool;
+    private final NodeProbeProperties probeProperties;
+
+    private final Counter stale;
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "chain-read-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    public ReadRouter(NodeClientPool nodeClientPool, NodeProbeProperties probeProperties, MeterRegistry meterRegistry) {
+        this.nodeClientPool = nodeClientPool;
+        this.probeProperties = probeProperties;
+        this.stale = Counter.builder("chain.read.consistency.stale").register(meterRegistry);
+    }
+
+    /**
+     * @param minHeight 要求的最低区块高度，小于0表示不要求
+     */
+    public List<NodeClient> candidates(long minHeight) {
+        if (minHeight < 0) {
+            return nodeClientPool.getRoutableNodes();
+        }
+        List<NodeClient> caughtUp = caughtUp(minHeight);
+        if (!caughtUp.isEmpty()) {
+            return caughtUp;
+        }
+
+        stale.increment();
+        ReadConsistency.markStale();
+        refreshHeightsAsync();
+        NodeClient highest = highest();
+        log.debug("no node reached required height, minHeight = {}, read from nodeAddr = {}, height = {}",
+                minHeight, highest.getNodeAddr(), highest.getHeight());
+        return Collections.singletonList(highest);
+    }
+
+    private List<NodeClient> caughtUp(long minHeight) {
+        List<NodeClient> nodes = nodeClientPool.getNodes();
+        List<NodeClient> caughtUp = new ArrayList<>(nodes.size());
+        for (NodeClient node : nodes) {
+            // 落后标记是相对最高节点的，达到要求高度的落后节点同样可读
+            if (node.isHealthy() && node.getHeight() >= minHeight) {
+                caughtUp.add(node);
+            }
+        }
+        return caughtUp;
+    }
+
+    /**
+     * 同一时间只有一次刷新在进行，并发的落后读请求共用其结果
+     */
+    private void refreshHeightsAsync() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refresher.execute(() -> {
+                try {
+                    refreshHeights();
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.set(false);
+        }
+    }
+
+    private void refreshHeights() {
+        for (NodeClient node : nodeClientPool.getNodes()) {
+            if (!node.isHealthy()) {
+                continue;
+            }
+            try {
+                node.updateHeight(node.getChainClient().getCurrentBlockHeight(probeProperties.getTimeout()));
+            } catch (Exception e) {
+                log.debug("refresh node height failed, nodeAddr = {}, e = {}", node.getNodeAddr(), e.getMessage());
+            }
+        }
+    }
+
+    private NodeClient highest() {
+        NodeClient highest = null;
+        for (NodeClient node : nodeClientPool.getRoutableNodes()) {
+            if (highest == null || node.getHeight() > highest.getHeight()) {
+                highest = node;
+            }
+        }
+        return highest;
+    }
+
+    @Override
+    public void destroy() {
+        refresher.shutdownNow();
+    }
+}
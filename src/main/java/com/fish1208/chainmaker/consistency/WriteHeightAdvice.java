@@ -0,0 +1,58 @@
+package com.fish1208.chainmaker.consistency;
+
+import com.fish1208.chainmaker.gateway.ChainGateway;
+import com.fish1208.chainmaker.registry.ChainContext;
+import lombok.extern.slf4j.Slf4j;
+import org.chainmaker.sdk.SdkException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * 请求中有交易成功上链时，在响应头返回交易所在区块高度，调用方后续读请求带上该高度即可读到自己的写入；
+ * 读请求要求的高度没有节点达到时，在响应头标记X-Read-Stale
+ */
+@Slf4j
+@ControllerAdvice
+public class WriteHeightAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final long RPC_CALL_TIMEOUT = 3000;
+
+    @Autowired
+    private ChainGateway chainGateway;
+
+    @Autowired
+    private ConsistencyProperties properties;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (ReadConsistency.isStale()) {
+            response.getHeaders().set(ReadConsistency.STALE_HEADER, "true");
+        }
+        String txId = ReadConsistency.getLastWrite();
+        // 节点高度只跟踪默认链
+        if (!properties.isReturnWriteHeight() || txId == null || ChainContext.get() != null) {
+            return body;
+        }
+        try {
+            // 用发出交易的客户端查询，避免查询落到尚未同步到该交易的节点
+            long height = chainGateway.getChainClient().getBlockHeightByTxId(txId, RPC_CALL_TIMEOUT);
+            response.getHeaders().set(ReadConsistency.WRITE_HEIGHT_HEADER, String.valueOf(height));
+        } catch (SdkException | RuntimeException e) {
+            log.debug("get block height of tx failed, txId = {}, e = {}", txId, e.getMessage());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,70 @@
+package com.fish1208.chainmaker.contract;
+
+import com.google.protobuf.ByteString;
+
+import java.math.BigInteger;
+
+/**
+ * 直接从合约返回的ABI编码字节中取值
+ */
+public final class AbiResults {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private AbiResults() {
+    }
+
+    public static BigInteger uint(ByteString result) {
+        return new BigInteger(1, result.toByteArray());
+    }
+
+    public static BigInteger int256(ByteString result) {
+        return result.isEmpty() ? BigInteger.ZERO : new BigInteger(result.toByteArray());
+    }
+
+    public static boolean bool(ByteString result) {
+        return !result.isEmpty() && result.byteAt(result.size() - 1) != 0;
+    }
+
+    public static String address(ByteString result) {
+        char[] out = new char[42];
+        out[0] = '0';
+        out[1] = 'x';
+        int from = result.size() - 20;
+        for (int i = 0; i < 20; i++) {
+            int b = from + i < 0 ? 0 : result.byteAt(from + i);
+            out[2 + 2 * i] = HEX[(b >> 4) & 0xf];
+            out[3 + 2 * i] = HEX[b & 0xf];
+        }
+        return new String(out);
+    }
+
+    public static byte[] fixedBytes(ByteString result, int length) {
+        return result.substring(0, Math.min(length, result.size())).toByteArray();
+    }
+
+    public static byte[] bytes(ByteString result) {
+        return dynamic(result).toByteArray();
+    }
+
+    public static String string(ByteString result) {
+        return dynamic(result).toStringUtf8();
+    }
+
+    private static ByteString dynamic(ByteString result) {
+        if (result.size() < 64) {
+            return ByteString.EMPTY;
+        }
+        int offset = (int) word(result, 0);
+        int length = (int) word(result, offset);
+        return result.substring(offset + 32, offset + 32 + length);
+    }
+
+    private static long word(ByteString result, int at) {
+        long value = 0;
+        for (int i = at + 24; i < at + 32; i++) {
+            value = (value << 8) | (result.byteAt(i) & 0xff);
+        }
+        return value;
+    }
+}
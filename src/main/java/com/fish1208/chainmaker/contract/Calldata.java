@@ -0,0 +1,215 @@
+package com.fish1208.chainmaker.contract;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * EVM调用数据，内部按ABI规则保存二进制：4字节选择器+参数word。
+ *
+ * toRawBytes()直接得到二进制calldata；toBytes()按节点要求的十六进制传输格式输出"0x"+hex的ASCII字节，
+ * 与web3j FunctionEncoder.encode(...).getBytes()逐字节一致。两种输出都按最终长度一次分配，不经过String。
+ */
+public final class Calldata {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final int WORD = 32;
+    private static final int SELECTOR = 4;
+
+    private final String method;
+    private final int headEnd;
+    private byte[] buf;
+    private int head;
+    private int end;
+
+    private Calldata(String method, int words) {
+        if (method.length() != 2 + SELECTOR * 2) {
+            throw new IllegalArgumentException("invalid method selector: " + method);
+        }
+        this.method = method;
+        this.headEnd = SELECTOR + words * WORD;
+        this.buf = new byte[headEnd];
+        parseHex(method, 2, buf, 0, SELECTOR);
+        this.head = SELECTOR;
+        this.end = headEnd;
+    }
+
+    /**
+     * @param method 带0x的4字节选择器，如 0xa9059cbb
+     * @param words  参数个数，每个参数在头部占一个word
+     */
+    public static Calldata of(String method, int words) {
+        return new Calldata(method, words);
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public Calldata address(String address) {
+        int start = address.startsWith("0x") || address.startsWith("0X") ? 2 : 0;
+        int digits = address.length() - start;
+        if (digits > 40) {
+            throw new IllegalArgumentException("invalid address: " + address);
+        }
+        int word = nextWord();
+        if ((digits & 1) == 1) {
+            // 奇数位时首位单独成为一个字节的低4位
+            buf[word + WORD - (digits + 1) / 2] = (byte) digit(address, start);
+            start++;
+            digits--;
+        }
+        parseHex(address, start, buf, word + WORD - digits / 2, digits / 2);
+        return this;
+    }
+
+    public Calldata uint(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("uint can not be negative: " + value);
+        }
+        writeLong(nextWord(), value);
+        return this;
+    }
+
+    public Calldata uint(BigInteger value) {
+        if (value.signum() < 0 || value.bitLength() > 256) {
+            throw new IllegalArgumentException("invalid uint256: " + value);
+        }
+        if (value.bitLength() < 64) {
+            return uint(value.longValue());
+        }
+        writeBig(nextWord(), value);
+        return this;
+    }
+
+    public Calldata int256(BigInteger value) {
+        if (value.bitLength() > 255) {
+            throw new IllegalArgumentException("invalid int256: " + value);
+        }
+        int word = nextWord();
+        if (value.signum() < 0) {
+            Arrays.fill(buf, word, word + WORD, (byte) 0xff);
+        }
+        writeBig(word, value);
+        return this;
+    }
+
+    public Calldata bool(boolean value) {
+        buf[nextWord() + WORD - 1] = (byte) (value ? 1 : 0);
+        return this;
+    }
+
+    /**
+     * bytes1~bytes32，右侧补零
+     */
+    public Calldata fixedBytes(byte[] value) {
+        if (value.length > WORD) {
+            throw new IllegalArgumentException("fixed bytes longer than 32: " + value.length);
+        }
+        System.arraycopy(value, 0, buf, nextWord(), value.length);
+        return this;
+    }
+
+    public Calldata string(String value) {
+        return bytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 动态类型：头部写入相对参数区起点的字节偏移，尾部写入长度和按word补齐的内容
+     */
+    public Calldata bytes(byte[] value) {
+        writeLong(nextWord(), end - SELECTOR);
+        int required = end + WORD + (value.length + WORD - 1) / WORD * WORD;
+        if (required > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(required, buf.length * 2));
+        }
+        writeLong(end, value.length);
+        System.arraycopy(value, 0, buf, end + WORD, value.length);
+        end = required;
+        return this;
+    }
+
+    /**
+     * 二进制calldata字节数(含选择器)
+     */
+    public int length() {
+        return end;
+    }
+
+    /**
+     * @return 二进制calldata
+     */
+    public byte[] toRawBytes() {
+        checkComplete();
+        return Arrays.copyOf(buf, end);
+    }
+
+    /**
+     * @return "0x"+十六进制的ASCII字节，即节点解析的十六进制传输格式
+     */
+    public byte[] toBytes() {
+        checkComplete();
+        byte[] out = new byte[2 + end * 2];
+        out[0] = '0';
+        out[1] = 'x';
+        for (int i = 0, at = 2; i < end; i++) {
+            out[at++] = HEX[(buf[i] >> 4) & 0xf];
+            out[at++] = HEX[buf[i] & 0xf];
+        }
+        return out;
+    }
+
+    public byte[] toBytes(CalldataEncoding encoding) {
+        return encoding == CalldataEncoding.RAW ? toRawBytes() : toBytes();
+    }
+
+    @Override
+    public String toString() {
+        return new String(toBytes(), StandardCharsets.US_ASCII);
+    }
+
+    private int nextWord() {
+        if (head >= headEnd) {
+            throw new IllegalStateException("too many arguments for " + method);
+        }
+        int at = head;
+        head += WORD;
+        return at;
+    }
+
+    private void checkComplete() {
+        if (head != headEnd) {
+            throw new IllegalStateException("missing arguments for " + method);
+        }
+    }
+
+    private void writeLong(int word, long value) {
+        for (int at = word + WORD - 1; at >= word + WORD - 8; at--) {
+            buf[at] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    /**
+     * 补码右对齐写入，负数的符号扩展由调用方预先填充
+     */
+    private void writeBig(int word, BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        int length = Math.min(bytes.length, WORD);
+        System.arraycopy(bytes, bytes.length - length, buf, word + WORD - length, length);
+    }
+
+    private static void parseHex(String hex, int from, byte[] out, int at, int bytes) {
+        for (int i = 0; i < bytes; i++) {
+            out[at + i] = (byte) ((digit(hex, from + 2 * i) << 4) | digit(hex, from + 2 * i + 1));
+        }
+    }
+
+    private static int digit(String hex, int index) {
+        int digit = Character.digit(hex.charAt(index), 16);
+        if (digit < 0) {
+            throw new IllegalArgumentException("invalid hex: " + hex);
+        }
+        return digit;
+    }
+}
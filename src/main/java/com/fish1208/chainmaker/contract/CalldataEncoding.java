@@ -0,0 +1,17 @@
+package com.fish1208.chainmaker.contract;
+
+/**
+ * data参数中calldata的传输格式
+ */
+public enum CalldataEncoding {
+
+    /**
+     * "0x"+十六进制的ASCII字节，ChainMaker v2.1的EVM按此格式解析
+     */
+    HEX,
+
+    /**
+     * ABI二进制，体积为HEX的一半，需要节点支持
+     */
+    RAW
+}
@@ -0,0 +1,19 @@
+package com.fish1208.chainmaker.contract;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * EVM调用数据配置
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chain-gateway.calldata")
+public class CalldataProperties {
+
+    /**
+     * data参数的传输格式，节点只接受十六进制时保持hex
+     */
+    private CalldataEncoding encoding = CalldataEncoding.HEX;
+}
@@ -0,0 +1,58 @@
+package com.fish1208.chainmaker.contract;
+
+import com.fish1208.chainmaker.gateway.ChainGateway;
+import com.google.protobuf.ByteString;
+import org.chainmaker.pb.common.ResultOuterClass;
+import org.chainmaker.sdk.SdkException;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 类型化EVM合约客户端基类，生成的合约客户端通过它经ChainGateway发送调用
+ */
+public abstract class ContractClient {
+
+    public static final String CONTRACT_ARGS_EVM_PARAM = "data";
+
+    private static final long RPC_CALL_TIMEOUT = 10000;
+    private static final long SYNC_RESULT_TIMEOUT = 10000;
+
+    protected final ChainGateway chainGateway;
+    protected final String contractName;
+    protected final CalldataEncoding encoding;
+
+    protected ContractClient(ChainGateway chainGateway, String contractName, CalldataEncoding encoding) {
+        this.chainGateway = chainGateway;
+        this.contractName = contractName;
+        this.encoding = encoding;
+    }
+
+    public String getContractName() {
+        return contractName;
+    }
+
+    public static Map<String, byte[]> params(Calldata calldata, CalldataEncoding encoding) {
+        return Collections.singletonMap(CONTRACT_ARGS_EVM_PARAM, calldata.toBytes(encoding));
+    }
+
+    protected ResultOuterClass.TxResponse invoke(Calldata calldata) throws SdkException {
+        return invoke(calldata, null, SYNC_RESULT_TIMEOUT);
+    }
+
+    /**
+     * @param txId              为null时由SDK生成
+     * @param syncResultTimeout 不大于0时不等待交易上链
+     */
+    protected ResultOuterClass.TxResponse invoke(Calldata calldata, String txId, long syncResultTimeout) throws SdkException {
+        Map<String, byte[]> params = params(calldata, encoding);
+        return chainGateway.invoke(client -> client.invokeContract(contractName, calldata.getMethod(), txId, params,
+                RPC_CALL_TIMEOUT, syncResultTimeout));
+    }
+
+    protected ByteString query(Calldata calldata) throws SdkException {
+        Map<String, byte[]> params = params(calldata, encoding);
+        return chainGateway.query(client -> client.queryContract(contractName, calldata.getMethod(), null, params,
+                RPC_CALL_TIMEOUT)).getContractResult().getResult();
+    }
+}
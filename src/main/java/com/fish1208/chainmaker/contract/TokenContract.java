@@ -0,0 +1,231 @@
+package com.fish1208.chainmaker.contract;
+
+import com.fish1208.chainmaker.gateway.ChainGateway;
+import org.chainmaker.pb.common.ResultOuterClass;
+import org.chainmaker.sdk.SdkException;
+
+import java.math.BigInteger;
+
+/**
+ * 由ContractClientGenerator根据contract/token.sol生成，请勿手工修改
+ */
+public class TokenContract extends ContractClient {
+
+    /**
+     * name()
+     */
+    public static final String NAME = "0x06fdde03";
+
+    /**
+     * symbol()
+     */
+    public static final String SYMBOL = "0x95d89b41";
+
+    /**
+     * decimals()
+     */
+    public static final String DECIMALS = "0x313ce567";
+
+    /**
+     * balanceOf(address)
+     */
+    public static final String BALANCE_OF = "0x70a08231";
+
+    /**
+     * allowance(address,address)
+     */
+    public static final String ALLOWANCE = "0xdd62ed3e";
+
+    /**
+     * totalSupply()
+     */
+    public static final String TOTAL_SUPPLY = "0x18160ddd";
+
+    /**
+     * stopped()
+     */
+    public static final String STOPPED = "0x75f12b21";
+
+    /**
+     * transfer(address,uint256)
+     */
+    public static final String TRANSFER = "0xa9059cbb";
+
+    /**
+     * transferFrom(address,address,uint256)
+     */
+    public static final String TRANSFER_FROM = "0x23b872dd";
+
+    /**
+     * approve(address,uint256)
+     */
+    public static final String APPROVE = "0x095ea7b3";
+
+    /**
+     * stop()
+     */
+    public static final String STOP = "0x07da68f5";
+
+    /**
+     * start()
+     */
+    public static final String START = "0xbe9a6555";
+
+    /**
+     * setName(string)
+     */
+    public static final String SET_NAME = "0xc47f0027";
+
+    /**
+     * burn(uint256)
+     */
+    public static final String BURN = "0x42966c68";
+
+    public TokenContract(ChainGateway chainGateway, String contractName) {
+        super(chainGateway, contractName, CalldataEncoding.HEX);
+    }
+
+    public TokenContract(ChainGateway chainGateway, String contractName, CalldataEncoding encoding) {
+        super(chainGateway, contractName, encoding);
+    }
+
+    public static Calldata encodeName() {
+        return Calldata.of(NAME, 0);
+    }
+
+    public String name() throws SdkException {
+        return AbiResults.string(query(encodeName()));
+    }
+
+    public static Calldata encodeSymbol() {
+        return Calldata.of(SYMBOL, 0);
+    }
+
+    public String symbol() throws SdkException {
+        return AbiResults.string(query(encodeSymbol()));
+    }
+
+    public static Calldata encodeDecimals() {
+        return Calldata.of(DECIMALS, 0);
+    }
+
+    public BigInteger decimals() throws SdkException {
+        return AbiResults.uint(query(encodeDecimals()));
+    }
+
+    public static Calldata encodeBalanceOf(String arg0) {
+        return Calldata.of(BALANCE_OF, 1).address(arg0);
+    }
+
+    public BigInteger balanceOf(String arg0) throws SdkException {
+        return AbiResults.uint(query(encodeBalanceOf(arg0)));
+    }
+
+    public static Calldata encodeAllowance(String arg0, String arg1) {
+        return Calldata.of(ALLOWANCE, 2).address(arg0).address(arg1);
+    }
+
+    public BigInteger allowance(String arg0, String arg1) throws SdkException {
+        return AbiResults.uint(query(encodeAllowance(arg0, arg1)));
+    }
+
+    public static Calldata encodeTotalSupply() {
+        return Calldata.of(TOTAL_SUPPLY, 0);
+    }
+
+    public BigInteger totalSupply() throws SdkException {
+        return AbiResults.uint(query(encodeTotalSupply()));
+    }
+
+    public static Calldata encodeStopped() {
+        return Calldata.of(STOPPED, 0);
+    }
+
+    public boolean stopped() throws SdkException {
+        return AbiResults.bool(query(encodeStopped()));
+    }
+
+    public static Calldata encodeTransfer(String to, BigInteger value) {
+        return Calldata.of(TRANSFER, 2).address(to).uint(value);
+    }
+
+    public ResultOuterClass.TxResponse transfer(String to, BigInteger value) throws SdkException {
+        return invoke(encodeTransfer(to, value));
+    }
+
+    public ResultOuterClass.TxResponse transfer(String to, BigInteger value, String txId, long syncResultTimeout) throws SdkException {
+        return invoke(encodeTransfer(to, value), txId, syncResultTimeout);
+    }
+
+    public static Calldata encodeTransferFrom(String from, String to, BigInteger value) {
+        return Calldata.of(TRANSFER_FROM, 3).address(from).address(to).uint(value);
+    }
+
+    public ResultOuterClass.TxResponse transferFrom(String from, String to, BigInteger value) throws SdkException {
+        return invoke(encodeTransferFrom(from, to, value));
+    }
+
+    public ResultOuterClass.TxResponse transferFrom(String from, String to, BigInteger value, String txId, long syncResultTimeout) throws SdkException {
+        return invoke(encodeTransferFrom(from, to, value), txId, syncResultTimeout);
+    }
+
+    public static Calldata encodeApprove(String spender, BigInteger value) {
+        return Calldata.of(APPROVE, 2).address(spender).uint(value);
+    }
+
+    public ResultOuterClass.TxResponse approve(String spender, BigInteger value) throws SdkException {
+        return invoke(encodeApprove(spender, value));
+    }
+
+    public ResultOuterClass.TxResponse approve(String spender, BigInteger value, String txId, long syncResultTimeout) throws SdkException {
+        return invoke(encodeApprove(spender, value), txId, syncResultTimeout);
+    }
+
+    public static Calldata encodeStop() {
+        return Calldata.of(STOP, 0);
+    }
+
+    public ResultOuterClass.TxResponse stop() throws SdkException {
+        return invoke(encodeStop());
+    }
+
+    public ResultOuterClass.TxResponse stop(String txId, long syncResultTimeout) throws SdkException {
+        return invoke(encodeStop(), txId, syncResultTimeout);
+    }
+
+    public static Calldata encodeStart() {
+        return Calldata.of(START, 0);
+    }
+
+    public ResultOuterClass.TxResponse start() throws SdkException {
+        return invoke(encodeStart());
+    }
+
+    public ResultOuterClass.TxResponse start(String txId, long syncResultTimeout) throws SdkException {
+        return invoke(encodeStart(), txId, syncResultTimeout);
+    }
+
+    public static Calldata encodeSetName(String name) {
+        return Calldata.of(SET_NAME, 1).string(name);
+    }
+
+    public ResultOuterClass.TxResponse setName(String name) throws SdkException {
+        return invoke(encodeSetName(name));
+    }
+
+    public ResultOuterClass.TxResponse setName(String name, String txId, long syncResultTimeout) throws SdkException {
+        return invoke(encodeSetName(name), txId, syncResultTimeout);
+    }
+
+    public static Calldata encodeBurn(BigInteger value) {
+        return Calldata.of(BURN, 1).uint(value);
+    }
+
+    public ResultOuterClass.TxResponse burn(BigInteger value) throws SdkException {
+        return invoke(encodeBurn(value));
+    }
+
+    public ResultOuterClass.TxResponse burn(BigInteger value, String txId, long syncResultTimeout) throws SdkException {
+        return invoke(encodeBurn(value), txId, syncResultTimeout);
+    }
+}
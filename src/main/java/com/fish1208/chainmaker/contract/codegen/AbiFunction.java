@@ -0,0 +1,50 @@
+package com.fish1208.chainmaker.contract.codegen;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.web3j.crypto.Hash;
+
+import java.util.List;
+
+/**
+ * 合约对外函数，public状态变量按其getter处理
+ */
+@Getter
+@AllArgsConstructor
+public class AbiFunction {
+
+    private final String name;
+    private final List<AbiArg> inputs;
+    private final List<AbiArg> outputs;
+    private final boolean constant;
+
+    public String signature() {
+        StringBuilder sb = new StringBuilder(name).append('(');
+        for (int i = 0; i < inputs.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(inputs.get(i).getType());
+        }
+        return sb.append(')').toString();
+    }
+
+    /**
+     * @return 带0x的4字节选择器
+     */
+    public String selector() {
+        return Hash.sha3String(signature()).substring(0, 10);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class AbiArg {
+
+        /**
+         * 规范化的Solidity类型名
+         */
+        private final String type;
+
+        private final String name;
+    }
+}
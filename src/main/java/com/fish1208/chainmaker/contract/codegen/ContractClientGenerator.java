@@ -0,0 +1,153 @@
+package com.fish1208.chainmaker.contract.codegen;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 根据Solidity源码生成类型化合约客户端，选择器在生成时算好写成常量
+ *
+ * mvn -Pcodegen process-classes，或直接运行：
+ * ContractClientGenerator contract/token.sol com.fish1208.chainmaker.contract.TokenContract src/main/java
+ */
+public class ContractClientGenerator {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("usage: ContractClientGenerator <solidity file> <class name> <source root>");
+            System.exit(1);
+        }
+        String source = new String(Files.readAllBytes(Paths.get(args[0])), StandardCharsets.UTF_8);
+        String className = args[1];
+        Path output = Paths.get(args[2], className.replace('.', '/') + ".java");
+        Files.createDirectories(output.getParent());
+        Files.write(output, generate(args[0], className, SolidityAbiParser.parse(source)).getBytes(StandardCharsets.UTF_8));
+        System.out.println("generated " + output);
+    }
+
+    public static String generate(String sourcePath, String className, List<AbiFunction> functions) {
+        int dot = className.lastIndexOf('.');
+        String simpleName = className.substring(dot + 1);
+        StringBuilder sb = new StringBuilder();
+        sb.append("package ").append(className, 0, dot).append(";\n\n");
+        sb.append("import com.fish1208.chainmaker.gateway.ChainGateway;\n");
+        sb.append("import org.chainmaker.pb.common.ResultOuterClass;\n");
+        sb.append("import org.chainmaker.sdk.SdkException;\n\n");
+        sb.append("import java.math.BigInteger;\n\n");
+        sb.append("/**\n * 由ContractClientGenerator根据").append(sourcePath).append("生成，请勿手工修改\n */\n");
+        sb.append("public class ").append(simpleName).append(" extends ContractClient {\n");
+
+        Set<String> constants = new HashSet<>();
+        String[] names = new String[functions.size()];
+        for (int i = 0; i < functions.size(); i++) {
+            AbiFunction function = functions.get(i);
+            String constant = upperSnake(function.getName());
+            while (!constants.add(constant)) {
+                constant = constant + "_" + function.getInputs().size();
+            }
+            names[i] = constant;
+            sb.append("\n    /**\n     * ").append(function.signature()).append("\n     */\n");
+            sb.append("    public static final String ").append(constant).append(" = \"").append(function.selector()).append("\";\n");
+        }
+
+        sb.append("\n    public ").append(simpleName).append("(ChainGateway chainGateway, String contractName) {\n");
+        sb.append("        super(chainGateway, contractName, CalldataEncoding.HEX);\n    }\n");
+        sb.append("\n    public ").append(simpleName).append("(ChainGateway chainGateway, String contractName, CalldataEncoding encoding) {\n");
+        sb.append("        super(chainGateway, contractName, encoding);\n    }\n");
+
+        for (int i = 0; i < functions.size(); i++) {
+            appendFunction(sb, functions.get(i), names[i]);
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private static void appendFunction(StringBuilder sb, AbiFunction function, String constant) {
+        List<AbiFunction.AbiArg> inputs = function.getInputs();
+        StringBuilder declaration = new StringBuilder();
+        StringBuilder arguments = new StringBuilder();
+        StringBuilder encode = new StringBuilder("Calldata.of(").append(constant).append(", ").append(inputs.size()).append(')');
+        for (int i = 0; i < inputs.size(); i++) {
+            String name = argName(inputs.get(i).getName(), i);
+            String type = inputs.get(i).getType();
+            if (i > 0) {
+                declaration.append(", ");
+                arguments.append(", ");
+            }
+            declaration.append(javaType(type)).append(' ').append(name);
+            arguments.append(name);
+            encode.append('.').append(encoder(type)).append('(').append(name).append(')');
+        }
+        String method = lowerCamel(function.getName());
+        String encodeMethod = "encode" + Character.toUpperCase(method.charAt(0)) + method.substring(1);
+
+        sb.append("\n    public static Calldata ").append(encodeMethod).append('(').append(declaration).append(") {\n");
+        sb.append("        return ").append(encode).append(";\n    }\n");
+
+        if (function.isConstant() && function.getOutputs().size() == 1) {
+            String output = function.getOutputs().get(0).getType();
+            sb.append("\n    public ").append(javaType(output)).append(' ').append(method).append('(').append(declaration).append(") throws SdkException {\n");
+            sb.append("        return AbiResults.").append(decoder(output)).append("(query(").append(encodeMethod).append('(').append(arguments).append(')');
+            sb.append(output.startsWith("bytes") && !"bytes".equals(output) ? "), " + output.substring(5) + ");\n" : "));\n");
+            sb.append("    }\n");
+            return;
+        }
+
+        sb.append("\n    public ResultOuterClass.TxResponse ").append(method).append('(').append(declaration).append(") throws SdkException {\n");
+        sb.append("        return invoke(").append(encodeMethod).append('(').append(arguments).append("));\n    }\n");
+        sb.append("\n    public ResultOuterClass.TxResponse ").append(method).append('(').append(declaration)
+                .append(inputs.isEmpty() ? "" : ", ").append("String txId, long syncResultTimeout) throws SdkException {\n");
+        sb.append("        return invoke(").append(encodeMethod).append('(').append(arguments).append("), txId, syncResultTimeout);\n    }\n");
+    }
+
+    private static String javaType(String type) {
+        if ("address".equals(type) || "string".equals(type)) {
+            return "String";
+        }
+        if ("bool".equals(type)) {
+            return "boolean";
+        }
+        if (type.startsWith("bytes")) {
+            return "byte[]";
+        }
+        if (type.startsWith("uint") || type.startsWith("int")) {
+            return "BigInteger";
+        }
+        throw new IllegalArgumentException("unsupported type: " + type);
+    }
+
+    private static String encoder(String type) {
+        if ("address".equals(type) || "string".equals(type) || "bool".equals(type) || "bytes".equals(type)) {
+            return type;
+        }
+        if (type.startsWith("bytes")) {
+            return "fixedBytes";
+        }
+        return type.startsWith("uint") ? "uint" : "int256";
+    }
+
+    private static String decoder(String type) {
+        return encoder(type);
+    }
+
+    private static String argName(String name, int index) {
+        if (name == null) {
+            return "arg" + index;
+        }
+        String stripped = name.replaceFirst("^_+", "");
+        return stripped.isEmpty() ? "arg" + index : stripped;
+    }
+
+    private static String lowerCamel(String name) {
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static String upperSnake(String name) {
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+    }
+}
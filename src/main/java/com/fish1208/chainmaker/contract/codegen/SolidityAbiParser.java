@@ -0,0 +1,84 @@
+package com.fish1208.chainmaker.contract.codegen;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 从Solidity源码中提取对外函数和public状态变量的getter
+ *
+ * 只识别生成客户端需要的声明形式，不是完整的Solidity语法分析
+ */
+public final class SolidityAbiParser {
+
+    private static final Pattern FUNCTION = Pattern.compile("\\bfunction\\s+(\\w+)\\s*\\(([^)]*)\\)([^{;]*)");
+    private static final Pattern RETURNS = Pattern.compile("\\breturns\\s*\\(([^)]*)\\)");
+    private static final Pattern STATE_VARIABLE = Pattern.compile("^\\s*(mapping\\s*\\(.*\\)|\\w+)\\s+public\\s+(?:constant\\s+)?(\\w+)\\s*(?:=[^;]*)?;", Pattern.MULTILINE);
+    private static final Pattern MAPPING = Pattern.compile("^mapping\\s*\\(\\s*(\\w+)\\s*=>\\s*(.*)\\)$");
+
+    private SolidityAbiParser() {
+    }
+
+    public static List<AbiFunction> parse(String source) {
+        String code = source.replaceAll("(?s)/\\*.*?\\*/", "").replaceAll("//[^\\n]*", "");
+        List<AbiFunction> functions = new ArrayList<>();
+
+        Matcher variable = STATE_VARIABLE.matcher(code);
+        while (variable.find()) {
+            List<AbiFunction.AbiArg> inputs = new ArrayList<>();
+            String type = variable.group(1).trim();
+            Matcher mapping = MAPPING.matcher(type);
+            while (mapping.matches()) {
+                inputs.add(new AbiFunction.AbiArg(canonical(mapping.group(1)), null));
+                type = mapping.group(2).trim();
+                mapping = MAPPING.matcher(type);
+            }
+            functions.add(new AbiFunction(variable.group(2), inputs,
+                    Collections.singletonList(new AbiFunction.AbiArg(canonical(type), null)), true));
+        }
+
+        Matcher function = FUNCTION.matcher(code);
+        while (function.find()) {
+            String modifiers = " " + function.group(3) + " ";
+            if (modifiers.contains(" private ") || modifiers.contains(" internal ")) {
+                continue;
+            }
+            boolean constant = modifiers.contains(" view ") || modifiers.contains(" pure ") || modifiers.contains(" constant ");
+            Matcher returns = RETURNS.matcher(modifiers);
+            List<AbiFunction.AbiArg> outputs = returns.find() ? args(returns.group(1)) : Collections.emptyList();
+            functions.add(new AbiFunction(function.group(1), args(function.group(2)), outputs, constant));
+        }
+        return functions;
+    }
+
+    private static List<AbiFunction.AbiArg> args(String declaration) {
+        List<AbiFunction.AbiArg> args = new ArrayList<>();
+        if (declaration.trim().isEmpty()) {
+            return args;
+        }
+        for (String arg : declaration.split(",")) {
+            String[] tokens = arg.trim().split("\\s+");
+            String name = tokens.length > 1 ? tokens[tokens.length - 1] : null;
+            if ("memory".equals(name) || "storage".equals(name) || "calldata".equals(name)) {
+                name = null;
+            }
+            args.add(new AbiFunction.AbiArg(canonical(tokens[0]), name));
+        }
+        return args;
+    }
+
+    private static String canonical(String type) {
+        if ("uint".equals(type)) {
+            return "uint256";
+        }
+        if ("int".equals(type)) {
+            return "int256";
+        }
+        if ("byte".equals(type)) {
+            return "bytes1";
+        }
+        return type;
+    }
+}
@@ -0,0 +1,59 @@
+package com.fish1208.chainmaker.deploy;
+
+import org.chainmaker.pb.common.ContractOuterClass;
+
+import java.util.Arrays;
+
+/**
+ * 已解码的合约制品，加载后不再修改
+ */
+public final class ContractArtifact {
+
+    private final String name;
+    private final ContractOuterClass.RuntimeType runtime;
+    private final String version;
+    private final boolean hashName;
+    private final byte[] byteCode;
+
+    ContractArtifact(String name, ContractOuterClass.RuntimeType runtime, String version, boolean hashName, byte[] byteCode) {
+        this.name = name;
+        this.runtime = runtime;
+        this.version = version;
+        this.hashName = hashName;
+        this.byteCode = byteCode;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ContractOuterClass.RuntimeType getRuntime() {
+        return runtime;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public boolean isHashName() {
+        return hashName;
+    }
+
+    public int size() {
+        return byteCode.length;
+    }
+
+    /**
+     * 直接交给SDK构建payload，SDK只读取不修改，避免每次部署复制整个字节码
+     */
+    byte[] byteCode() {
+        return byteCode;
+    }
+
+    /**
+     * 对外返回副本
+     */
+    public byte[] getByteCode() {
+        return Arrays.copyOf(byteCode, byteCode.length);
+    }
+}
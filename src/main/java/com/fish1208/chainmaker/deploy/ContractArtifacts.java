@@ -0,0 +1,72 @@
+package com.fish1208.chainmaker.deploy;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.bouncycastle.util.encoders.Hex;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 合约制品缓存，启动时读取并解码全部配置的制品。
+ * 文件不存在(如WASM合约尚未编译)时跳过并告警，部署该制品时报错
+ */
+@Slf4j
+@Component
+public class ContractArtifacts implements InitializingBean {
+
+    @Autowired
+    private DeployProperties properties;
+
+    private volatile Map<String, ContractArtifact> artifacts = Collections.emptyMap();
+
+    @Override
+    public void afterPropertiesSet() {
+        Map<String, ContractArtifact> loaded = new LinkedHashMap<>();
+        for (Map.Entry<String, DeployProperties.Artifact> entry : properties.getArtifacts().entrySet()) {
+            try {
+                loaded.put(entry.getKey(), load(entry.getKey(), entry.getValue()));
+            } catch (IOException | RuntimeException e) {
+                log.warn("contract artifact not loaded, name = {}, path = {}, e = {}", entry.getKey(), entry.getValue().getPath(), e.getMessage());
+            }
+        }
+        artifacts = Collections.unmodifiableMap(loaded);
+    }
+
+    public ContractArtifact get(String name) {
+        ContractArtifact artifact = artifacts.get(name);
+        if (artifact == null) {
+            throw new IllegalArgumentException("contract artifact not loaded: " + name);
+        }
+        return artifact;
+    }
+
+    public Map<String, ContractArtifact> getAll() {
+        return artifacts;
+    }
+
+    private static ContractArtifact load(String name, DeployProperties.Artifact config) throws IOException {
+        Resource path = config.getPath();
+        if (path == null) {
+            throw new IllegalArgumentException("path not configured");
+        }
+        byte[] bytes;
+        try (InputStream in = path.getInputStream()) {
+            bytes = IOUtils.toByteArray(in);
+        }
+        if (config.isHex()) {
+            String text = new String(bytes, StandardCharsets.US_ASCII).trim();
+            bytes = Hex.decode(text.startsWith("0x") ? text.substring(2) : text);
+        }
+        log.info("contract artifact loaded, name = {}, runtime = {}, size = {}, path = {}", name, config.getRuntime(), bytes.length, path);
+        return new ContractArtifact(name, config.getRuntime(), config.getVersion(), config.isHashName(), bytes);
+    }
+}
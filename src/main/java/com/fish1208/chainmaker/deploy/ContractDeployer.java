@@ -0,0 +1,216 @@
+package com.fish1208.chainmaker.deploy;
+
+import cn.hutool.core.util.StrUtil;
+import com.fish1208.chainmaker.contract.Calldata;
+import com.fish1208.chainmaker.endorse.Endorsements;
+import com.fish1208.chainmaker.gateway.ChainGateway;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.chainmaker.pb.common.Request;
+import org.chainmaker.pb.common.ResultOuterClass;
+import org.chainmaker.sdk.ChainClient;
+import org.chainmaker.sdk.SdkException;
+import org.chainmaker.sdk.User;
+import org.chainmaker.sdk.utils.Utils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 合约部署：字节码取自启动时解码的制品缓存，合约名和构造参数编码按值缓存。
+ * 批量部署时并行构建payload并由各组织管理员并行背书，依次提交不等待上链，最后统一等待结果
+ */
+@Slf4j
+@Component
+public class ContractDeployer implements DisposableBean {
+
+    private static final String CONTRACT_ARGS_EVM_PARAM = "data";
+
+    private final ChainGateway chainGateway;
+    private final ContractArtifacts artifacts;
+    private final DeployProperties properties;
+    private final User[] admins;
+    private final ExecutorService executor;
+
+    /**
+     * 实例名 -> 链上合约名
+     */
+    private final Map<String, String> contractNames = new ConcurrentHashMap<>();
+
+    /**
+     * 地址 -> 以该地址为唯一构造参数的EVM部署参数
+     */
+    private final Map<String, Map<String, byte[]>> addressArgs = new ConcurrentHashMap<>();
+
+    private final Counter deployed;
+    private final Counter failed;
+
+    public ContractDeployer(ChainGateway chainGateway, ContractArtifacts artifacts, DeployProperties properties,
+                            @Qualifier("adminUser1") User adminUser1, @Qualifier("adminUser2") User adminUser2,
+                            @Qualifier("adminUser3") User adminUser3, MeterRegistry meterRegistry) {
+        this.chainGateway = chainGateway;
+        this.artifacts = artifacts;
+        this.properties = properties;
+        this.admins = new User[]{adminUser1, adminUser2, adminUser3};
+        int threads = properties.getThreads() > 0 ? properties.getThreads() : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "chain-deploy-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.deployed = Counter.builder("chain.deploy.deployed").register(meterRegistry);
+        this.failed = Counter.builder("chain.deploy.failed").register(meterRegistry);
+    }
+
+    /**
+     * EVM构造函数只有一个address参数时的部署参数，即ABI编码去掉0x和4字节选择器后的十六进制
+     */
+    public Map<String, byte[]> addressArgs(String address) {
+        return addressArgs.computeIfAbsent(address, a -> {
+            byte[] calldata = Calldata.of("0x00000000", 1).address(a).toBytes();
+            return Collections.singletonMap(CONTRACT_ARGS_EVM_PARAM, Arrays.copyOfRange(calldata, 10, calldata.length));
+        });
+    }
+
+    public String contractName(ContractArtifact artifact, String instance) throws SdkException {
+        if (!artifact.isHashName()) {
+            return instance;
+        }
+        String name = contractNames.get(instance);
+        if (name == null) {
+            name = Utils.calcContractName(instance);
+            contractNames.put(instance, name);
+        }
+        return name;
+    }
+
+    /**
+     * 部署单个实例并同步等待结果
+     */
+    public ResultOuterClass.TxResponse deploy(String artifactName, String instance, Map<String, byte[]> params) throws SdkException {
+        ContractArtifact artifact = artifacts.get(artifactName);
+        Request.Payload payload = createPayload(chainGateway.getChainClient(), artifact, instance, params);
+        Request.EndorsementEntry[] endorsements = Endorsements.await(Endorsements.endorse(executor, payload, admins));
+        ResultOuterClass.TxResponse response = chainGateway.manage(c -> c.sendContractManageRequest(payload, endorsements,
+                properties.getRpcCallTimeout(), properties.getSyncResultTimeout()));
+        if (response.getCode() == ResultOuterClass.TxStatusCode.SUCCESS) {
+            deployed.increment();
+        } else {
+            failed.increment();
+        }
+        return response;
+    }
+
+    /**
+     * 以相同构造参数部署同一制品的多个实例，实例名为空、重复或数量超过maxBatch时抛出IllegalArgumentException
+     */
+    public List<DeployResult> deployAll(String artifactName, List<String> instances, Map<String, byte[]> params) throws SdkException {
+        validate(instances);
+        ContractArtifact artifact = artifacts.get(artifactName);
+        ChainClient client = chainGateway.getChainClient();
+
+        // 1. 并行构建payload并背书
+        List<Future<Request.Payload>> payloadFutures = new ArrayList<>(instances.size());
+        for (String instance : instances) {
+            payloadFutures.add(executor.submit(() -> createPayload(client, artifact, instance, params)));
+        }
+        List<Request.Payload> payloads = Endorsements.awaitAll(payloadFutures);
+        List<List<Future<Request.EndorsementEntry[]>>> endorseFutures = new ArrayList<>(payloads.size());
+        for (Request.Payload payload : payloads) {
+            endorseFutures.add(Endorsements.endorse(executor, payload, admins));
+        }
+
+        // 2. 依次提交，不等待上链
+        List<DeployResult> results = new ArrayList<>(instances.size());
+        for (int i = 0; i < payloads.size(); i++) {
+            Request.Payload payload = payloads.get(i);
+            DeployResult result = new DeployResult();
+            result.setInstance(instances.get(i));
+            result.setContractName(payload.getContractName());
+            result.setTxId(payload.getTxId());
+            results.add(result);
+            try {
+                Request.EndorsementEntry[] endorsements = Endorsements.await(endorseFutures.get(i));
+                ResultOuterClass.TxResponse response = chainGateway.manage(c -> c.sendContractManageRequest(payload, endorsements,
+                        properties.getRpcCallTimeout(), 0));
+                if (response.getCode() != ResultOuterClass.TxStatusCode.SUCCESS) {
+                    throw new IllegalStateException(response.getCode() + " " + response.getMessage());
+                }
+            } catch (SdkException | RuntimeException e) {
+                log.warn("submit contract deployment failed, instance = {}, e = {}", instances.get(i), e.getMessage());
+                result.setStatus(DeployResult.Status.FAILED);
+                result.setMessage(e.getMessage());
+            }
+        }
+
+        // 3. 等待已提交的部署上链
+        long deadline = System.currentTimeMillis() + properties.getTimeout();
+        for (DeployResult result : results) {
+            if (result.getStatus() == null) {
+                await(result, deadline);
+            }
+            if (result.getStatus() == DeployResult.Status.SUCCESS) {
+                deployed.increment();
+            } else {
+                failed.increment();
+            }
+        }
+        return results;
+    }
+
+    private void validate(List<String> instances) {
+        if (instances == null || instances.isEmpty()) {
+            throw new IllegalArgumentException("no instances");
+        }
+        if (instances.size() > properties.getMaxBatch()) {
+            throw new IllegalArgumentException("batch size exceeds " + properties.getMaxBatch());
+        }
+        Set<String> seen = new HashSet<>();
+        for (String instance : instances) {
+            if (StrUtil.isBlank(instance)) {
+                throw new IllegalArgumentException("instance name is required");
+            }
+            if (!seen.add(instance)) {
+                throw new IllegalArgumentException("duplicate instance: " + instance);
+            }
+        }
+    }
+
+    private Request.Payload createPayload(ChainClient client, ContractArtifact artifact, String instance,
+                                          Map<String, byte[]> params) throws SdkException {
+        return client.createContractCreatePayload(contractName(artifact, instance), artifact.getVersion(),
+                artifact.byteCode(), artifact.getRuntime(), params);
+    }
+
+    private void await(DeployResult result, long deadline) {
+        ResultOuterClass.Result txResult = Endorsements.awaitResult(chainGateway, result.getTxId(), properties.getRpcCallTimeout(), deadline);
+        if (txResult == null) {
+            result.setStatus(DeployResult.Status.TIMEOUT);
+        } else if (txResult.getCode() == ResultOuterClass.TxStatusCode.SUCCESS) {
+            result.setStatus(DeployResult.Status.SUCCESS);
+        } else {
+            result.setStatus(DeployResult.Status.FAILED);
+            result.setMessage(txResult.getCode() + " " + txResult.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
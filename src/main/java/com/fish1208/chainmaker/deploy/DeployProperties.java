@@ -0,0 +1,63 @@
+package com.fish1208.chainmaker.deploy;
+
+import lombok.Data;
+import org.chainmaker.pb.common.ContractOuterClass;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 合约部署配置
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chain-gateway.deploy")
+public class DeployProperties {
+
+    /**
+     * 合约制品名 -> 制品配置，启动时读取一次
+     */
+    private Map<String, Artifact> artifacts = new LinkedHashMap<>();
+
+    /**
+     * 批量部署时构建payload和背书的线程数，0表示CPU核数
+     */
+    private int threads = 0;
+
+    /**
+     * 单次批量部署的最大实例数
+     */
+    private int maxBatch = 100;
+
+    /**
+     * 批量部署提交后等待全部上链的最长时间(毫秒)
+     */
+    private long timeout = 60000;
+
+    private long rpcCallTimeout = 10000;
+
+    private long syncResultTimeout = 10000;
+
+    @Data
+    public static class Artifact {
+
+        private Resource path;
+
+        private ContractOuterClass.RuntimeType runtime = ContractOuterClass.RuntimeType.EVM;
+
+        private String version = "1";
+
+        /**
+         * 文件内容为十六进制文本(solc输出的.bin)
+         */
+        private boolean hex = false;
+
+        /**
+         * 合约名按Utils.calcContractName计算，EVM合约需要
+         */
+        private boolean hashName = false;
+    }
+}
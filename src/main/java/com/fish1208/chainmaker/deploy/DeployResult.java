@@ -0,0 +1,29 @@
+package com.fish1208.chainmaker.deploy;
+
+import lombok.Data;
+
+/**
+ * 批量部署中单个实例的结果
+ */
+@Data
+public class DeployResult {
+
+    public enum Status {
+        SUCCESS,
+        FAILED,
+        /**
+         * 已提交，等待超时仍未上链
+         */
+        TIMEOUT
+    }
+
+    private String instance;
+
+    private String contractName;
+
+    private String txId;
+
+    private Status status;
+
+    private String message;
+}
@@ -0,0 +1,106 @@
+package com.fish1208.chainmaker.endorse;
+
+import com.fish1208.chainmaker.gateway.ChainGateway;
+import org.chainmaker.pb.common.ChainmakerTransaction;
+import org.chainmaker.pb.common.Request;
+import org.chainmaker.pb.common.ResultOuterClass;
+import org.chainmaker.sdk.SdkException;
+import org.chainmaker.sdk.User;
+import org.chainmaker.sdk.utils.SdkUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * 多管理员背书的管理类交易(链配置变更、合约部署)共用的并行背书和上链等待
+ */
+public final class Endorsements {
+
+    private static final long POLL_INTERVAL = 200;
+
+    private Endorsements() {
+    }
+
+    /**
+     * 各管理员在executor上并行签名
+     */
+    public static List<Future<Request.EndorsementEntry[]>> endorse(ExecutorService executor, Request.Payload payload, User[] admins) {
+        List<Future<Request.EndorsementEntry[]>> perAdmin = new ArrayList<>(admins.length);
+        for (User admin : admins) {
+            perAdmin.add(executor.submit(() -> SdkUtils.getEndorsers(payload, new User[]{admin})));
+        }
+        return perAdmin;
+    }
+
+    /**
+     * 等待全部管理员签名并合并
+     */
+    public static Request.EndorsementEntry[] await(List<Future<Request.EndorsementEntry[]>> perAdmin) throws SdkException {
+        List<Request.EndorsementEntry> entries = new ArrayList<>();
+        for (Request.EndorsementEntry[] part : awaitAll(perAdmin)) {
+            entries.addAll(Arrays.asList(part));
+        }
+        return entries.toArray(new Request.EndorsementEntry[0]);
+    }
+
+    /**
+     * 按顺序等待全部结果，任一失败时取消其余任务并抛出其原始异常
+     */
+    public static <T> List<T> awaitAll(List<Future<T>> futures) throws SdkException {
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while preparing endorsed transactions", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SdkException) {
+                throw (SdkException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            for (Future<T> future : futures) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * 轮询已提交交易的执行结果。查询失败(尚未上链、被限流等)时继续轮询到截止时间
+     *
+     * @return 截止时间前未查到或等待被中断时为null
+     */
+    public static ResultOuterClass.Result awaitResult(ChainGateway chainGateway, String txId, long rpcCallTimeout, long deadline) {
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                ChainmakerTransaction.TransactionInfo info = chainGateway.query(client -> client.getTxByTxId(txId, rpcCallTimeout));
+                if (info != null && info.hasTransaction()) {
+                    return info.getTransaction().getResult();
+                }
+            } catch (SdkException | RuntimeException e) {
+                // 交易尚未上链，或查询被限流
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,41 @@
+package com.fish1208.chainmaker.event;
+
+/**
+ * 事件参数支持的Solidity类型
+ */
+public enum AbiType {
+
+    ADDRESS, UINT, INT, BOOL, FIXED_BYTES, STRING, BYTES;
+
+    /**
+     * @param type Solidity类型名，如 address、uint256、bytes32
+     */
+    public static AbiType of(String type) {
+        if ("address".equals(type)) {
+            return ADDRESS;
+        }
+        if ("bool".equals(type)) {
+            return BOOL;
+        }
+        if ("string".equals(type)) {
+            return STRING;
+        }
+        if ("bytes".equals(type)) {
+            return BYTES;
+        }
+        if (type.startsWith("uint")) {
+            return UINT;
+        }
+        if (type.startsWith("int")) {
+            return INT;
+        }
+        if (type.startsWith("bytes")) {
+            return FIXED_BYTES;
+        }
+        throw new IllegalArgumentException("unsupported event param type: " + type);
+    }
+
+    public boolean isDynamic() {
+        return this == STRING || this == BYTES;
+    }
+}
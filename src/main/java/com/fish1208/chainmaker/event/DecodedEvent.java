@@ -0,0 +1,55 @@
+package com.fish1208.chainmaker.event;
+
+import com.fish1208.chainmaker.projection.Address160;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigInteger;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 解码后的合约事件，参数值按声明顺序保存：
+ * address为Address160，整数为BigInteger，bool为Boolean，bytesN和bytes为byte[]，string为String；
+ * indexed的string、bytes链上只保留哈希，值为32字节byte[]
+ */
+@Getter
+@AllArgsConstructor
+public class DecodedEvent {
+
+    private final EventDefinition definition;
+    private final String contractName;
+    private final long blockHeight;
+    private final String txId;
+    private final Object[] values;
+
+    public String getName() {
+        return definition.getName();
+    }
+
+    public Object get(int index) {
+        return values[index];
+    }
+
+    public Address160 getAddress(int index) {
+        return (Address160) values[index];
+    }
+
+    public BigInteger getInteger(int index) {
+        return (BigInteger) values[index];
+    }
+
+    /**
+     * @return 参数名到值的映射，参数未命名时以下标为键
+     */
+    public Map<String, Object> toMap() {
+        List<EventParam> params = definition.getParams();
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            String name = params.get(i).getName();
+            map.put(name != null ? name : String.valueOf(i), values[i] instanceof Address160 ? values[i].toString() : values[i]);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,118 @@
+package com.fish1208.chainmaker.event;
+
+import com.google.protobuf.ByteString;
+import lombok.Getter;
+import org.chainmaker.pb.common.ResultOuterClass;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 单个事件的解码器，构造时根据事件声明算好每个参数的来源位置，解码时不做反射和类型查找
+ *
+ * EVM合约事件的eventData依次为各indexed参数的topic，最后一项为非indexed参数的ABI编码数据。
+ */
+public class EventDecoder {
+
+    @Getter
+    private final EventDefinition definition;
+
+    private final byte[] topic;
+    private final long topicPrefix;
+    private final AbiType[] types;
+    private final boolean[] indexed;
+    private final int[] slots;
+    private final int[] fixedLengths;
+    private final int indexedCount;
+    private final boolean hasData;
+
+    public EventDecoder(EventDefinition definition) {
+        this.definition = definition;
+        this.topic = definition.getTopic().getBytes(StandardCharsets.US_ASCII);
+        this.topicPrefix = Long.parseUnsignedLong(definition.getTopic().substring(0, 16), 16);
+        List<EventParam> params = definition.getParams();
+        int n = params.size();
+        types = new AbiType[n];
+        indexed = new boolean[n];
+        slots = new int[n];
+        fixedLengths = new int[n];
+        int topics = 0;
+        int words = 0;
+        for (int i = 0; i < n; i++) {
+            EventParam param = params.get(i);
+            types[i] = param.getType();
+            indexed[i] = param.isIndexed();
+            slots[i] = param.isIndexed() ? topics++ : words++;
+            if (param.getType() == AbiType.FIXED_BYTES) {
+                fixedLengths[i] = Integer.parseInt(param.getTypeName().substring("bytes".length()));
+            }
+        }
+        indexedCount = topics;
+        hasData = words > 0;
+    }
+
+    long getTopicPrefix() {
+        return topicPrefix;
+    }
+
+    public boolean matches(ByteString topicHex) {
+        return HexWords.equalsLower(topicHex, topic);
+    }
+
+    /**
+     * @return eventData数量与声明不符时返回null
+     */
+    public DecodedEvent decode(ResultOuterClass.ContractEventInfo info) {
+        return decode(info.getContractName(), info.getBlockHeight(), info.getTxId(), info.getEventDataList().asByteStringList());
+    }
+
+    /**
+     * 区块中交易结果里的事件，不带区块高度，由调用方传入
+     */
+    public DecodedEvent decode(long blockHeight, ResultOuterClass.ContractEvent event) {
+        return decode(event.getContractName(), blockHeight, event.getTxId(), event.getEventDataList().asByteStringList());
+    }
+
+    private DecodedEvent decode(String contractName, long blockHeight, String txId, List<ByteString> eventData) {
+        if (eventData.size() < indexedCount + (hasData ? 1 : 0)) {
+            return null;
+        }
+        ByteString data = hasData ? eventData.get(indexedCount) : ByteString.EMPTY;
+        int base = HexWords.start(data);
+        Object[] values = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            if (indexed[i]) {
+                ByteString topicHex = eventData.get(slots[i]);
+                int word = HexWords.start(topicHex);
+                values[i] = types[i].isDynamic() ? HexWords.bytes(topicHex, word, 32) : word(i, topicHex, word);
+            } else {
+                int word = base + slots[i] * HexWords.WORD;
+                if (types[i] == AbiType.STRING) {
+                    values[i] = HexWords.string(data, base, word);
+                } else if (types[i] == AbiType.BYTES) {
+                    values[i] = HexWords.dynamic(data, base, word);
+                } else {
+                    values[i] = word(i, data, word);
+                }
+            }
+        }
+        return new DecodedEvent(definition, contractName, blockHeight, txId, values);
+    }
+
+    private Object word(int i, ByteString hex, int word) {
+        switch (types[i]) {
+            case ADDRESS:
+                return HexWords.address(hex, word);
+            case UINT:
+                return HexWords.uint(hex, word);
+            case INT:
+                return HexWords.int256(hex, word);
+            case BOOL:
+                return HexWords.bool(hex, word);
+            case FIXED_BYTES:
+                return HexWords.bytes(hex, word, fixedLengths[i]);
+            default:
+                throw new IllegalStateException("unexpected static type: " + types[i]);
+        }
+    }
+}
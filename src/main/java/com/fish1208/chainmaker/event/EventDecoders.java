@@ -0,0 +1,119 @@
+package com.fish1208.chainmaker.event;
+
+import com.google.protobuf.ByteString;
+import lombok.extern.slf4j.Slf4j;
+import org.chainmaker.pb.common.ResultOuterClass;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 合约事件解码器注册表，启动时从Solidity源码的event声明生成解码器
+ */
+@Slf4j
+@Component
+public class EventDecoders implements InitializingBean {
+
+    /**
+     * 投影和授权缓存依赖的ERC20事件，源码文件缺失时也能解码
+     */
+    private static final String ERC20_EVENTS = "event Transfer(address indexed _from, address indexed _to, uint256 _value);\n"
+            + "event Approval(address indexed _owner, address indexed _spender, uint256 _value);\n";
+
+    @Autowired
+    private EventProperties properties;
+
+    private volatile EventDecoder[] decoders = new EventDecoder[0];
+
+    @Override
+    public void afterPropertiesSet() {
+        register(ERC20_EVENTS);
+        for (String source : properties.getSources()) {
+            Path path = Paths.get(source);
+            if (!Files.exists(path)) {
+                log.warn("event source not found, path = {}", source);
+                continue;
+            }
+            try {
+                int count = register(new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+                log.info("event decoders registered, path = {}, count = {}", source, count);
+            } catch (IOException e) {
+                log.warn("read event source failed, path = {}, e = {}", source, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 注册源码中声明的事件，匿名事件没有签名topic，不能按topic匹配，跳过
+     *
+     * @return 新注册的解码器数量
+     */
+    public synchronized int register(String solidity) {
+        List<EventDecoder> list = new ArrayList<>(Arrays.asList(decoders));
+        int count = 0;
+        for (EventDefinition definition : EventDefinition.parse(solidity)) {
+            if (definition.isAnonymous() || find(definition.getTopic()) != null) {
+                continue;
+            }
+            list.add(new EventDecoder(definition));
+            count++;
+        }
+        decoders = list.toArray(new EventDecoder[0]);
+        return count;
+    }
+
+    /**
+     * @return 未注册的事件或数据不完整时返回null
+     */
+    public DecodedEvent decode(ResultOuterClass.ContractEventInfo info) {
+        EventDecoder decoder = find(info.getTopicBytes());
+        return decoder != null ? decoder.decode(info) : null;
+    }
+
+    /**
+     * 解码区块中交易结果里的事件
+     */
+    public DecodedEvent decode(long blockHeight, ResultOuterClass.ContractEvent event) {
+        EventDecoder decoder = find(event.getTopicBytes());
+        return decoder != null ? decoder.decode(blockHeight, event) : null;
+    }
+
+    public List<DecodedEvent> decode(ResultOuterClass.ContractEventInfoList events) {
+        List<DecodedEvent> decoded = new ArrayList<>(events.getContractEventsCount());
+        for (ResultOuterClass.ContractEventInfo info : events.getContractEventsList()) {
+            DecodedEvent event = decode(info);
+            if (event != null) {
+                decoded.add(event);
+            }
+        }
+        return decoded;
+    }
+
+    private EventDecoder find(ByteString topic) {
+        long prefix = HexWords.prefix(topic);
+        for (EventDecoder decoder : decoders) {
+            if (decoder.getTopicPrefix() == prefix && decoder.matches(topic)) {
+                return decoder;
+            }
+        }
+        return null;
+    }
+
+    private EventDecoder find(String topic) {
+        for (EventDecoder decoder : decoders) {
+            if (decoder.getDefinition().getTopic().equals(topic)) {
+                return decoder;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,91 @@
+package com.fish1208.chainmaker.event;
+
+import lombok.Getter;
+import org.web3j.crypto.Hash;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 从Solidity源码中解析出的事件声明
+ */
+@Getter
+public class EventDefinition {
+
+    private static final Pattern EVENT = Pattern.compile("\\bevent\\s+(\\w+)\\s*\\(([^)]*)\\)\\s*(anonymous\\s*)?;");
+
+    private final String name;
+    private final List<EventParam> params;
+    private final String signature;
+
+    /**
+     * 事件签名的keccak256，小写十六进制不带0x，与链上ContractEventInfo.topic一致
+     */
+    private final String topic;
+
+    private final boolean anonymous;
+
+    public EventDefinition(String name, List<EventParam> params, boolean anonymous) {
+        this.name = name;
+        this.params = Collections.unmodifiableList(params);
+        this.anonymous = anonymous;
+        StringBuilder sb = new StringBuilder(name).append('(');
+        for (int i = 0; i < params.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(params.get(i).getTypeName());
+        }
+        this.signature = sb.append(')').toString();
+        this.topic = Hash.sha3String(signature).substring(2);
+    }
+
+    /**
+     * 解析源码中所有event声明
+     */
+    public static List<EventDefinition> parse(String source) {
+        List<EventDefinition> definitions = new ArrayList<>();
+        Matcher matcher = EVENT.matcher(stripComments(source));
+        while (matcher.find()) {
+            List<EventParam> params = new ArrayList<>();
+            String args = matcher.group(2).trim();
+            if (!args.isEmpty()) {
+                for (String arg : args.split(",")) {
+                    params.add(parseParam(arg.trim().split("\\s+")));
+                }
+            }
+            definitions.add(new EventDefinition(matcher.group(1), params, matcher.group(3) != null));
+        }
+        return definitions;
+    }
+
+    private static EventParam parseParam(String[] tokens) {
+        String typeName = canonical(tokens[0]);
+        boolean indexed = tokens.length > 1 && "indexed".equals(tokens[1]);
+        String name = tokens.length > (indexed ? 2 : 1) ? tokens[tokens.length - 1] : null;
+        return new EventParam(typeName, AbiType.of(typeName), indexed, name);
+    }
+
+    /**
+     * uint、int是uint256、int256的别名，签名中必须使用完整写法
+     */
+    private static String canonical(String type) {
+        if ("uint".equals(type)) {
+            return "uint256";
+        }
+        if ("int".equals(type)) {
+            return "int256";
+        }
+        if ("byte".equals(type)) {
+            return "bytes1";
+        }
+        return type;
+    }
+
+    private static String stripComments(String source) {
+        return source.replaceAll("(?s)/\\*.*?\\*/", "").replaceAll("//[^\\n]*", "");
+    }
+}
@@ -0,0 +1,20 @@
+package com.fish1208.chainmaker.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class EventParam {
+
+    /**
+     * 规范化的Solidity类型名，参与事件签名计算
+     */
+    private final String typeName;
+
+    private final AbiType type;
+
+    private final boolean indexed;
+
+    private final String name;
+}
@@ -0,0 +1,23 @@
+package com.fish1208.chainmaker.event;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 合约事件解码配置
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chain-gateway.events")
+public class EventProperties {
+
+    /**
+     * 启动时解析事件声明的Solidity源码文件
+     */
+    private List<String> sources = new ArrayList<>(Arrays.asList("contract/token.sol"));
+}
@@ -0,0 +1,140 @@
+package com.fish1208.chainmaker.event;
+
+import com.fish1208.chainmaker.projection.Address160;
+import com.google.protobuf.ByteString;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 直接在十六进制ASCII字节上按ABI的32字节word取值，不经过中间String
+ */
+final class HexWords {
+
+    static final int WORD = 64;
+
+    private static final byte[] DIGITS = new byte[128];
+
+    static {
+        java.util.Arrays.fill(DIGITS, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            DIGITS['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            DIGITS['a' + i] = (byte) (10 + i);
+            DIGITS['A' + i] = (byte) (10 + i);
+        }
+    }
+
+    private HexWords() {
+    }
+
+    /**
+     * @return 跳过0x前缀后的起始位置
+     */
+    static int start(ByteString hex) {
+        return hex.size() > 1 && hex.byteAt(0) == '0' && (hex.byteAt(1) | 0x20) == 'x' ? 2 : 0;
+    }
+
+    /**
+     * 前16位十六进制数，用于快速筛选topic
+     */
+    static long prefix(ByteString hex) {
+        int start = start(hex);
+        return hex.size() - start < 16 ? 0 : parseLong(hex, start, 16);
+    }
+
+    /**
+     * 忽略大小写比较，expected为小写十六进制
+     */
+    static boolean equalsLower(ByteString hex, byte[] expected) {
+        int start = start(hex);
+        if (hex.size() - start != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if ((hex.byteAt(start + i) | 0x20) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static Address160 address(ByteString hex, int word) {
+        int at = word + WORD - 40;
+        return Address160.of(parseLong(hex, at, 16), parseLong(hex, at + 16, 16), (int) parseLong(hex, at + 32, 8));
+    }
+
+    static BigInteger uint(ByteString hex, int word) {
+        // 常见金额都在63位以内，避免构造字节数组：前48位十六进制为0且第49位小于8
+        if (isZero(hex, word, WORD - 16) && digit(hex, word + WORD - 16) < 8) {
+            return BigInteger.valueOf(parseLong(hex, word + WORD - 16, 16));
+        }
+        return new BigInteger(1, bytes(hex, word, 32));
+    }
+
+    static BigInteger int256(ByteString hex, int word) {
+        if (digit(hex, word) < 8) {
+            return uint(hex, word);
+        }
+        return new BigInteger(bytes(hex, word, 32));
+    }
+
+    static boolean bool(ByteString hex, int word) {
+        return !isZero(hex, word, WORD);
+    }
+
+    static long longValue(ByteString hex, int word) {
+        return parseLong(hex, word + WORD - 16, 16);
+    }
+
+    static byte[] bytes(ByteString hex, int from, int length) {
+        byte[] out = new byte[length];
+        for (int i = 0; i < length; i++) {
+            out[i] = (byte) ((digit(hex, from + 2 * i) << 4) | digit(hex, from + 2 * i + 1));
+        }
+        return out;
+    }
+
+    /**
+     * 按ABI动态类型编码读取：head中的偏移量指向长度word，其后为内容
+     *
+     * @param base 数据区起始位置
+     * @param word head中偏移量word的位置
+     */
+    static byte[] dynamic(ByteString hex, int base, int word) {
+        int at = base + (int) longValue(hex, word) * 2;
+        int length = (int) longValue(hex, at);
+        return bytes(hex, at + WORD, length);
+    }
+
+    static String string(ByteString hex, int base, int word) {
+        return new String(dynamic(hex, base, word), StandardCharsets.UTF_8);
+    }
+
+    private static boolean isZero(ByteString hex, int from, int digits) {
+        for (int i = 0; i < digits; i++) {
+            if (hex.byteAt(from + i) != '0') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long parseLong(ByteString hex, int from, int digits) {
+        long value = 0;
+        for (int i = 0; i < digits; i++) {
+            value = (value << 4) | digit(hex, from + i);
+        }
+        return value;
+    }
+
+    private static int digit(ByteString hex, int index) {
+        byte b = hex.byteAt(index);
+        int digit = b < 0 ? -1 : DIGITS[b];
+        if (digit < 0) {
+            throw new IllegalArgumentException("invalid hex digit at " + index);
+        }
+        return digit;
+    }
+}
@@ -0,0 +1,15 @@
+package com.fish1208.chainmaker.gateway;
+
+import org.chainmaker.sdk.ChainClient;
+import org.chainmaker.sdk.SdkException;
+
+/**
+ * 对ChainClient的一次调用
+ *
+ * @param <T> 返回类型
+ */
+@FunctionalInterface
+public interface ChainCall<T> {
+
+    T call(ChainClient chainClient) throws SdkException;
+}
@@ -0,0 +1,22 @@
+package com.fish1208.chainmaker.gateway;
+
+/**
+ * 链调用类型，决定调用使用哪一份并发预算
+ */
+public enum ChainCallType {
+
+    /**
+     * 只读查询：queryContract、getBlockByHeight等
+     */
+    QUERY,
+
+    /**
+     * 上链交易：invokeContract等
+     */
+    INVOKE,
+
+    /**
+     * 管理类交易：合约部署、升级等需要多方背书的操作
+     */
+    MANAGE
+}
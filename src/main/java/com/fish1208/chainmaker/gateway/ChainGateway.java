@@ -0,0 +1,171 @@
+package com.fish1208.chainmaker.gateway;
+
+import com.fish1208.chainmaker.certhash.CertHashManager;
+import com.fish1208.chainmaker.consistency.ReadConsistency;
+import com.fish1208.chainmaker.consistency.ReadRouter;
+import com.fish1208.chainmaker.hedge.HedgedReader;
+import com.fish1208.chainmaker.limiter.ChainCallLimiter;
+import com.fish1208.chainmaker.node.NodeClient;
+import com.fish1208.chainmaker.registry.ChainContext;
+import com.fish1208.chainmaker.registry.ChainRegistry;
+import com.fish1208.chainmaker.scheduler.LaneScheduler;
+import com.fish1208.chainmaker.scheduler.SchedulerProperties;
+import com.fish1208.common.exception.ChainOverloadException;
+import org.chainmaker.sdk.ChainClient;
+import org.chainmaker.pb.common.ResultOuterClass;
+import org.chainmaker.sdk.SdkException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * ChainClient前置网关，控制器对链的调用统一经过此处做限流和优先级调度，只读调用按节点对冲
+ */
+@Component
+public class ChainGateway {
+
+    @Autowired
+    private ChainClient chainClient;
+
+    @Autowired
+    private ChainCallLimiter limiter;
+
+    @Autowired
+    private LaneScheduler scheduler;
+
+    @Autowired
+    private SchedulerProperties schedulerProperties;
+
+    @Autowired
+    private HedgedReader hedgedReader;
+
+    @Autowired
+    private ChainRegistry chainRegistry;
+
+    @Autowired
+    private ReadRouter readRouter;
+
+    @Autowired
+    private CertHashManager certHashManager;
+
+    /**
+     * 只读查询
+     */
+    public <T> T query(ChainCall<T> call) throws SdkException {
+        return execute(ChainCallType.QUERY, call);
+    }
+
+    /**
+     * 上链交易
+     */
+    public <T> T invoke(ChainCall<T> call) throws SdkException {
+        return execute(ChainCallType.INVOKE, call);
+    }
+
+    /**
+     * 合约管理交易
+     */
+    public <T> T manage(ChainCall<T> call) throws SdkException {
+        return execute(ChainCallType.MANAGE, call);
+    }
+
+    public <T> T execute(ChainCallType type, ChainCall<T> call) throws SdkException {
+        // 调度线程上没有请求的ChainContext和一致性要求，提交前取出；
+        // 读节点也在请求线程上选好，落后标记记在当前请求上
+        String chainId = ChainContext.get();
+        List<NodeClient> candidates = type == ChainCallType.QUERY && chainRegistry.isDefault(chainId)
+                ? readRouter.candidates(ReadConsistency.getMinHeight()) : null;
+        T result;
+        if (!schedulerProperties.isEnabled()) {
+            result = run(chainId, candidates, limiter.acquire(type), call);
+        } else {
+            // 限流许可由调度器在出队时占用
+            FutureTask<T> task = scheduler.submit(type, permit -> run(chainId, candidates, permit, call));
+            result = await(type, task);
+        }
+        if (type == ChainCallType.INVOKE) {
+            recordWrite(result);
+        }
+        return result;
+    }
+
+    /**
+     * @param candidates 默认链只读调用的候选节点，其它调用为null
+     */
+    private <T> T run(String chainId, List<NodeClient> candidates, ChainCallLimiter.Permit permit, ChainCall<T> call) throws SdkException {
+        permit.started();
+        try {
+            T result;
+            if (!chainRegistry.isDefault(chainId)) {
+                // 节点对冲和区块高度路由只针对默认链的节点池
+                result = call.call(chainRegistry.getChainClient(chainId));
+            } else if (candidates != null) {
+                result = hedgedReader.read(candidates, call);
+            } else {
+                result = certHashManager.resendOnRejection(chainClient, call, call.call(chainClient));
+            }
+            permit.success();
+            return result;
+        } catch (SdkException | RuntimeException e) {
+            permit.dropped();
+            throw e;
+        }
+    }
+
+    /**
+     * 记录请求中最后一笔成功的交易，响应时据此返回区块高度
+     */
+    private static void recordWrite(Object result) {
+        if (result instanceof ResultOuterClass.TxResponse) {
+            ResultOuterClass.TxResponse response = (ResultOuterClass.TxResponse) result;
+            if (response.getCode() == ResultOuterClass.TxStatusCode.SUCCESS) {
+                ReadConsistency.recordWrite(response.getTxId());
+            }
+        }
+    }
+
+    private <T> T await(ChainCallType type, FutureTask<T> task) throws SdkException {
+        try {
+            try {
+                return task.get(schedulerProperties.getQueueTimeout(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // 仍在排队则移出队列直接放弃；已开始执行的调用不是都带rpc超时，最多再等callTimeout
+                if (scheduler.cancel(type, task)) {
+                    throw new ChainOverloadException(type);
+                }
+                try {
+                    return task.get(schedulerProperties.getCallTimeout(), TimeUnit.MILLISECONDS);
+                } catch (TimeoutException timeout) {
+                    throw new ChainOverloadException(type);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for chain call", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SdkException) {
+                throw (SdkException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * @return 当前请求目标链的客户端，不在请求中时为默认链
+     */
+    public ChainClient getChainClient() throws SdkException {
+        return chainRegistry.getChainClient(ChainContext.get());
+    }
+}
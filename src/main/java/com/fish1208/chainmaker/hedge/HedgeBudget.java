@@ -0,0 +1,28 @@
+package com.fish1208.chainmaker.hedge;
+
+/**
+ * 对冲预算：每次读请求存入maxRatio个令牌，每次对冲消耗一个，令牌最多累积burst个
+ */
+public class HedgeBudget {
+
+    private final double ratio;
+    private final double burst;
+    private double tokens;
+
+    public HedgeBudget(double ratio, int burst) {
+        this.ratio = ratio;
+        this.burst = burst;
+    }
+
+    public synchronized void onRead() {
+        tokens = Math.min(burst, tokens + ratio);
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+}
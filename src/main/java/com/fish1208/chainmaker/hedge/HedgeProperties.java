@@ -0,0 +1,46 @@
+package com.fish1208.chainmaker.hedge;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 对冲读配置
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chain-gateway.hedge")
+public class HedgeProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * 超过节点该分位数延迟仍未返回时发起对冲请求
+     */
+    private double percentile = 0.95;
+
+    /**
+     * 延迟样本不足时使用的对冲等待时间(毫秒)
+     */
+    private long defaultDelay = 50;
+
+    /**
+     * 对冲等待时间下限(毫秒)
+     */
+    private long minDelay = 5;
+
+    /**
+     * 对冲请求占读请求的最大比例
+     */
+    private double maxRatio = 0.05;
+
+    /**
+     * 对冲预算可累积的最大次数
+     */
+    private int burst = 10;
+
+    /**
+     * 执行对冲读的线程数
+     */
+    private int threads = 32;
+}
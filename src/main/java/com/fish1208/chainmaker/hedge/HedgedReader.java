@@ -0,0 +1,147 @@
+package com.fish1208.chainmaker.hedge;
+
+import com.fish1208.chainmaker.gateway.ChainCall;
+import com.fish1208.chainmaker.node.NodeClient;
+import com.fish1208.chainmaker.node.NodeClientPool;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.chainmaker.sdk.SdkException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 对冲读：请求在主节点的p95延迟内未返回时，向另一个节点发送相同请求，取先返回的结果。
+ *
+ * 只用于幂等的只读调用，对冲次数受HedgeBudget限制，避免节点整体变慢时请求量翻倍。
+ */
+@Slf4j
+@Component
+public class HedgedReader implements DisposableBean {
+
+    private final NodeClientPool nodeClientPool;
+    private final HedgeProperties properties;
+    private final HedgeBudget budget;
+    private final ThreadPoolExecutor executor;
+
+    private final Counter hedgeSent;
+    private final Counter hedgeWins;
+    private final Counter budgetExhausted;
+
+    public HedgedReader(NodeClientPool nodeClientPool, HedgeProperties properties, MeterRegistry meterRegistry) {
+        this.nodeClientPool = nodeClientPool;
+        this.properties = properties;
+        this.budget = new HedgeBudget(properties.getMaxRatio(), properties.getBurst());
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        // 线程池满时由调用线程直接执行，不排队
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(), 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), r -> {
+                    Thread thread = new Thread(r, "chain-hedge-" + threadIndex.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+
+        this.hedgeSent = Counter.builder("chain.hedge.sent").register(meterRegistry);
+        this.hedgeWins = Counter.builder("chain.hedge.wins").register(meterRegistry);
+        this.budgetExhausted = Counter.builder("chain.hedge.budget.exhausted").register(meterRegistry);
+    }
+
+    public <T> T read(ChainCall<T> call) throws SdkException {
+        return read(nodeClientPool.getRoutableNodes(), call);
+    }
+
+    public <T> T read(List<NodeClient> candidates, ChainCall<T> call) throws SdkException {
+        NodeClient primary = nodeClientPool.pick(candidates);
+        if (!properties.isEnabled() || candidates.size() < 2) {
+            return attempt(primary, call);
+        }
+        budget.onRead();
+
+        ExecutorCompletionService<T> completion = new ExecutorCompletionService<>(executor);
+        Future<T> primaryFuture = completion.submit(() -> attempt(primary, call));
+        Future<T> hedgeFuture = null;
+        try {
+            Future<T> done = completion.poll(hedgeDelayMillis(primary), TimeUnit.MILLISECONDS);
+            if (done == null) {
+                NodeClient secondary = nodeClientPool.pickOther(candidates, primary);
+                if (budget.tryAcquire()) {
+                    hedgeSent.increment();
+                    hedgeFuture = completion.submit(() -> attempt(secondary, call));
+                } else {
+                    budgetExhausted.increment();
+                }
+                done = completion.take();
+            }
+
+            try {
+                T result = done.get();
+                if (done == hedgeFuture) {
+                    hedgeWins.increment();
+                }
+                return result;
+            } catch (ExecutionException e) {
+                // 先返回的一方失败，另一方仍在执行时等待它的结果
+                if (hedgeFuture == null) {
+                    throw e;
+                }
+                Future<T> other = done == primaryFuture ? hedgeFuture : primaryFuture;
+                T result = other.get();
+                if (other == hedgeFuture) {
+                    hedgeWins.increment();
+                }
+                return result;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for hedged read", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SdkException) {
+                throw (SdkException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            primaryFuture.cancel(false);
+            if (hedgeFuture != null) {
+                hedgeFuture.cancel(false);
+            }
+        }
+    }
+
+    private <T> T attempt(NodeClient node, ChainCall<T> call) throws SdkException {
+        long start = System.nanoTime();
+        T result = call.call(node.getChainClient());
+        node.getLatency().record(System.nanoTime() - start);
+        return result;
+    }
+
+    private long hedgeDelayMillis(NodeClient node) {
+        long percentileNanos = node.getLatency().getPercentileNanos();
+        if (percentileNanos < 0) {
+            return properties.getDefaultDelay();
+        }
+        return Math.max(properties.getMinDelay(), TimeUnit.NANOSECONDS.toMillis(percentileNanos));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
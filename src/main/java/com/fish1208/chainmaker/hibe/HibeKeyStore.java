@@ -0,0 +1,56 @@
+package com.fish1208.chainmaker.hibe;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * HIBE系统参数和私钥缓存，每个文件只在首次使用时读取一次
+ */
+@Slf4j
+@Component
+public class HibeKeyStore {
+
+    @Autowired
+    private HibeProperties properties;
+
+    private final Map<String, byte[]> params = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> privateKeys = new ConcurrentHashMap<>();
+
+    public byte[] getParams(String orgId) {
+        return params.computeIfAbsent(orgId, id -> load("params", id, properties.getParams().get(id)));
+    }
+
+    public byte[] getPrivateKey(String hibeId) {
+        return privateKeys.computeIfAbsent(hibeId, id -> load("private key", id, properties.getPrivateKeys().get(id)));
+    }
+
+    /**
+     * 密钥文件替换后清除缓存
+     */
+    public void invalidate() {
+        params.clear();
+        privateKeys.clear();
+    }
+
+    private static byte[] load(String kind, String id, Resource resource) {
+        if (resource == null) {
+            throw new IllegalArgumentException("hibe " + kind + " not configured: " + id);
+        }
+        try (InputStream in = resource.getInputStream()) {
+            byte[] bytes = IOUtils.toByteArray(in);
+            log.info("hibe {} loaded, id = {}, resource = {}", kind, id, resource);
+            return bytes;
+        } catch (IOException e) {
+            throw new UncheckedIOException("load hibe " + kind + " failed: " + id, e);
+        }
+    }
+}
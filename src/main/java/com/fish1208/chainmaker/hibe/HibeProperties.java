@@ -0,0 +1,48 @@
+package com.fish1208.chainmaker.hibe;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * HIBE加解密配置
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chain-gateway.hibe")
+public class HibeProperties {
+
+    /**
+     * 加解密线程数，0表示CPU核数
+     */
+    private int threads = 0;
+
+    /**
+     * 等待执行的任务上限
+     */
+    private int queueCapacity = 1024;
+
+    /**
+     * 队列满时提交线程最多等待的时间(毫秒)，超时拒绝
+     */
+    private long submitTimeout = 5000;
+
+    /**
+     * 对称加密算法，与libhibe的symKeyType一致，1为AES
+     */
+    private int symKeyType = 1;
+
+    /**
+     * 组织ID -> HIBE系统参数文件
+     */
+    private Map<String, Resource> params = new LinkedHashMap<>();
+
+    /**
+     * HIBE身份ID -> 私钥文件
+     */
+    private Map<String, Resource> privateKeys = new LinkedHashMap<>();
+}
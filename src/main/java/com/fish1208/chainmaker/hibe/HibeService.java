@@ -0,0 +1,200 @@
+package com.fish1208.chainmaker.hibe;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.chainmaker.sdk.SdkException;
+import org.chainmaker.sdk.crypto.hibe.Hibe;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HIBE加解密服务，供隐私交易加密payload使用。
+ *
+ * 系统参数和私钥由HibeKeyStore缓存，不再每次读文件；
+ * 加解密在按CPU核数限定的线程池上执行，每个线程持有自己的Hibe实例，不在线程间共享JNA对象。
+ * 排队任务数有上限，满时提交线程最多等待submitTimeout，仍无空位则抛RejectedExecutionException，
+ * 不在HTTP线程上执行JNA调用。
+ */
+@Slf4j
+@Component
+public class HibeService implements DisposableBean {
+
+    private final HibeKeyStore keyStore;
+    private final HibeProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore slots;
+
+    private final ThreadLocal<Hibe> hibe = ThreadLocal.withInitial(Hibe::new);
+
+    private final Timer encryptTimer;
+    private final Timer decryptTimer;
+    private final Counter plainBytes;
+
+    public HibeService(HibeKeyStore keyStore, HibeProperties properties, MeterRegistry meterRegistry) {
+        this.keyStore = keyStore;
+        this.properties = properties;
+        int threads = properties.getThreads() > 0 ? properties.getThreads() : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIndex = new AtomicInteger();
+        // 执行中和排队中的任务总数由slots限定，队列本身不设界
+        this.slots = new Semaphore(threads + Math.max(1, properties.getQueueCapacity()));
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread thread = new Thread(r, "chain-hibe-" + threadIndex.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+
+        this.encryptTimer = Timer.builder("chain.hibe.encrypt").register(meterRegistry);
+        this.decryptTimer = Timer.builder("chain.hibe.decrypt").register(meterRegistry);
+        this.plainBytes = Counter.builder("chain.hibe.bytes").baseUnit("bytes").register(meterRegistry);
+    }
+
+    /**
+     * @param receiverIds 接收方HIBE身份ID，如 wx-topL/secondL/thirdL
+     * @param orgIds      与receiverIds一一对应的组织ID，用于取系统参数
+     */
+    public byte[] encrypt(byte[] plaintext, String[] receiverIds, String[] orgIds) throws SdkException {
+        return await(submit(() -> doEncrypt(plaintext, receiverIds, orgIds)));
+    }
+
+    public byte[] decrypt(String hibeId, String orgId, byte[] ciphertext) throws SdkException {
+        return await(submit(() -> doDecrypt(hibeId, orgId, ciphertext)));
+    }
+
+    /**
+     * 批量加密，消息并行处理，结果顺序与输入一致
+     */
+    public List<byte[]> encryptBatch(List<byte[]> plaintexts, String[] receiverIds, String[] orgIds) throws SdkException {
+        List<Callable<byte[]>> tasks = new ArrayList<>(plaintexts.size());
+        for (byte[] plaintext : plaintexts) {
+            tasks.add(() -> doEncrypt(plaintext, receiverIds, orgIds));
+        }
+        return runAll(tasks);
+    }
+
+    /**
+     * 批量解密，结果顺序与输入一致
+     */
+    public List<byte[]> decryptBatch(String hibeId, String orgId, List<byte[]> ciphertexts) throws SdkException {
+        List<Callable<byte[]>> tasks = new ArrayList<>(ciphertexts.size());
+        for (byte[] ciphertext : ciphertexts) {
+            tasks.add(() -> doDecrypt(hibeId, orgId, ciphertext));
+        }
+        return runAll(tasks);
+    }
+
+    /**
+     * 占一个slot后提交，任务完成或被取消时归还
+     */
+    private Future<byte[]> submit(Callable<byte[]> task) {
+        try {
+            if (!slots.tryAcquire(properties.getSubmitTimeout(), TimeUnit.MILLISECONDS)) {
+                throw new RejectedExecutionException("hibe queue full");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for hibe", e);
+        }
+        FutureTask<byte[]> future = new FutureTask<byte[]>(task) {
+            @Override
+            protected void done() {
+                slots.release();
+            }
+        };
+        try {
+            executor.execute(future);
+        } catch (RejectedExecutionException e) {
+            slots.release();
+            throw e;
+        }
+        return future;
+    }
+
+    private byte[] doEncrypt(byte[] plaintext, String[] receiverIds, String[] orgIds) throws SdkException {
+        if (receiverIds.length != orgIds.length) {
+            throw new IllegalArgumentException("receiverIds and orgIds differ in length");
+        }
+        List<byte[]> paramsList = new ArrayList<>(orgIds.length);
+        for (String orgId : orgIds) {
+            paramsList.add(keyStore.getParams(orgId));
+        }
+        long start = System.nanoTime();
+        byte[] ciphertext = hibe.get().encryptHibeMsg(plaintext, receiverIds, paramsList, properties.getSymKeyType());
+        encryptTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        plainBytes.increment(plaintext.length);
+        return ciphertext;
+    }
+
+    private byte[] doDecrypt(String hibeId, String orgId, byte[] ciphertext) throws SdkException {
+        byte[] params = keyStore.getParams(orgId);
+        byte[] privateKey = keyStore.getPrivateKey(hibeId);
+        long start = System.nanoTime();
+        byte[] plaintext = hibe.get().decryptHibeMsg(hibeId, params, privateKey, ciphertext, properties.getSymKeyType());
+        decryptTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        plainBytes.increment(plaintext.length);
+        return plaintext;
+    }
+
+    /**
+     * 逐个提交并按顺序等待，提交被拒绝或任一失败时取消其余任务
+     */
+    private List<byte[]> runAll(List<Callable<byte[]>> tasks) throws SdkException {
+        List<Future<byte[]>> futures = new ArrayList<>(tasks.size());
+        try {
+            for (Callable<byte[]> task : tasks) {
+                futures.add(submit(task));
+            }
+            List<byte[]> results = new ArrayList<>(futures.size());
+            for (Future<byte[]> future : futures) {
+                results.add(await(future));
+            }
+            return results;
+        } finally {
+            for (Future<byte[]> future : futures) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    private static byte[] await(Future<byte[]> future) throws SdkException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for hibe", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SdkException) {
+                throw (SdkException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
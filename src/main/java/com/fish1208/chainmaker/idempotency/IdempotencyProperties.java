@@ -0,0 +1,34 @@
+package com.fish1208.chainmaker.idempotency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 幂等提交配置
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chain-gateway.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * 存储类型：local 本地内存，redis 共享存储
+     */
+    private String store = "local";
+
+    /**
+     * 幂等记录保留时间(毫秒)
+     */
+    private long ttl = 24 * 60 * 60 * 1000L;
+
+    /**
+     * 记录处于PENDING超过该时间且链上查不到交易时，使用同一txId重新提交(毫秒)
+     */
+    private long resubmitAfter = 10000;
+
+    /**
+     * redis key前缀
+     */
+    private String keyPrefix = "chain-gateway:idem:";
+}
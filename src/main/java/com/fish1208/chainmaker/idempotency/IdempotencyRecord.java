@@ -0,0 +1,45 @@
+package com.fish1208.chainmaker.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 幂等键对应的交易记录
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    public static final String PENDING = "PENDING";
+    public static final String COMMITTED = "COMMITTED";
+
+    private String txId;
+
+    /**
+     * 请求摘要，同一幂等键携带不同请求内容时拒绝
+     */
+    private String fingerprint;
+
+    private String status;
+
+    /**
+     * COMMITTED时为链上最终结果码，PENDING时为最近一次提交的返回码(如TIMEOUT)，尚未返回时为空
+     */
+    private String code;
+
+    private long updateTime;
+
+    public static IdempotencyRecord pending(String txId, String fingerprint) {
+        return new IdempotencyRecord(txId, fingerprint, PENDING, null, System.currentTimeMillis());
+    }
+
+    public IdempotencyRecord pending(String code) {
+        return new IdempotencyRecord(txId, fingerprint, PENDING, code, System.currentTimeMillis());
+    }
+
+    public IdempotencyRecord committed(String code) {
+        return new IdempotencyRecord(txId, fingerprint, COMMITTED, code, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,23 @@
+package com.fish1208.chainmaker.idempotency;
+
+/**
+ * 幂等键到交易记录的存储
+ */
+public interface IdempotencyStore {
+
+    /**
+     * 键不存在时写入记录
+     *
+     * @return 已存在的记录，写入成功时返回null
+     */
+    IdempotencyRecord putIfAbsent(String key, IdempotencyRecord record, long ttlMillis);
+
+    /**
+     * 覆盖已有记录
+     */
+    void put(String key, IdempotencyRecord record, long ttlMillis);
+
+    IdempotencyRecord get(String key);
+
+    void remove(String key);
+}
@@ -0,0 +1,121 @@
+package com.fish1208.chainmaker.idempotency;
+
+import cn.hutool.crypto.SecureUtil;
+import com.fish1208.chainmaker.gateway.ChainGateway;
+import com.fish1208.common.exception.IdempotencyConflictException;
+import lombok.extern.slf4j.Slf4j;
+import org.chainmaker.pb.common.ChainmakerTransaction;
+import org.chainmaker.pb.common.ResultOuterClass;
+import org.chainmaker.sdk.SdkException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 幂等交易提交
+ *
+ * txId由幂等键确定性生成，同一个键的重试要么直接返回已记录的结果，
+ * 要么以同一txId重新提交，链上按txId去重，不会产生重复交易。
+ */
+@Slf4j
+@Component
+public class IdempotentSubmitter {
+
+    private static final long RPC_CALL_TIMEOUT = 10000;
+
+    @Autowired
+    private IdempotencyStore store;
+
+    @Autowired
+    private IdempotencyProperties properties;
+
+    @Autowired
+    private ChainGateway chainGateway;
+
+    /**
+     * @param key         幂等键，调用方需自行加上业务前缀
+     * @param fingerprint 请求摘要
+     * @param submission  使用给定txId发送交易
+     * @return 链上确认的结果码；交易尚未确认时为最近一次提交的返回码，仍在提交中时为TIMEOUT
+     */
+    public ResultOuterClass.TxStatusCode submit(String key, String fingerprint, TxSubmission submission) throws SdkException {
+        String txId = txIdOf(key);
+        IdempotencyRecord pending = IdempotencyRecord.pending(txId, fingerprint);
+        IdempotencyRecord existing = store.putIfAbsent(key, pending, properties.getTtl());
+        if (existing != null) {
+            if (!fingerprint.equals(existing.getFingerprint())) {
+                throw new IdempotencyConflictException(key);
+            }
+            if (IdempotencyRecord.COMMITTED.equals(existing.getStatus())) {
+                return codeOf(existing);
+            }
+            IdempotencyRecord onChain = lookup(key, existing);
+            if (onChain != null) {
+                return codeOf(onChain);
+            }
+            if (System.currentTimeMillis() - existing.getUpdateTime() < properties.getResubmitAfter()) {
+                // 首次提交可能仍在进行中
+                return codeOf(existing);
+            }
+            log.info("resubmit pending tx, key = {}, txId = {}", key, txId);
+            store.put(key, pending, properties.getTtl());
+        }
+
+        ResultOuterClass.TxResponse response = submission.submit(txId);
+        if (response.getCode() == ResultOuterClass.TxStatusCode.SUCCESS) {
+            store.put(key, pending.committed(response.getCode().name()), properties.getTtl());
+            return response.getCode();
+        }
+        // 超时等返回码不代表最终结果(如txId重复说明已经上链)，以链上查询为准；
+        // 查不到时保持PENDING，同一个键的重试在resubmitAfter之后以同一txId重新提交
+        IdempotencyRecord onChain = lookup(key, pending);
+        if (onChain != null) {
+            return codeOf(onChain);
+        }
+        store.put(key, pending.pending(response.getCode().name()), properties.getTtl());
+        return response.getCode();
+    }
+
+    /**
+     * 只登记幂等键，不提交交易，用于交易由发件箱异步提交的场景
+     *
+     * @return 已存在的记录；首次登记返回null，由调用方使用txIdOf(key)提交
+     */
+    public IdempotencyRecord reserve(String key, String fingerprint) {
+        IdempotencyRecord existing = store.putIfAbsent(key, IdempotencyRecord.pending(txIdOf(key), fingerprint), properties.getTtl());
+        if (existing != null && !fingerprint.equals(existing.getFingerprint())) {
+            throw new IdempotencyConflictException(key);
+        }
+        return existing;
+    }
+
+    /**
+     * 释放reserve登记的键，用于登记后交易未能交给发件箱的情况，重试时重新登记
+     */
+    public void release(String key) {
+        store.remove(key);
+    }
+
+    public String txIdOf(String key) {
+        return SecureUtil.sha256(key);
+    }
+
+    private static ResultOuterClass.TxStatusCode codeOf(IdempotencyRecord record) {
+        return record.getCode() == null ? ResultOuterClass.TxStatusCode.TIMEOUT : ResultOuterClass.TxStatusCode.valueOf(record.getCode());
+    }
+
+    private IdempotencyRecord lookup(String key, IdempotencyRecord pending) {
+        ChainmakerTransaction.TransactionInfo info;
+        try {
+            info = chainGateway.query(client -> client.getTxByTxId(pending.getTxId(), RPC_CALL_TIMEOUT));
+        } catch (SdkException e) {
+            log.debug("tx not found on chain, txId = {}", pending.getTxId());
+            return null;
+        }
+        if (info == null || !info.hasTransaction()) {
+            return null;
+        }
+        IdempotencyRecord committed = pending.committed(info.getTransaction().getResult().getCode().name());
+        store.put(key, committed, properties.getTtl());
+        return committed;
+    }
+}
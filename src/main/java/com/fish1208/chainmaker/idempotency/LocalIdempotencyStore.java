@@ -0,0 +1,79 @@
+package com.fish1208.chainmaker.idempotency;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 本地内存幂等存储，过期记录由后台线程定期清理
+ */
+@Component
+@ConditionalOnProperty(prefix = "chain-gateway.idempotency", name = "store", havingValue = "local", matchIfMissing = true)
+public class LocalIdempotencyStore implements IdempotencyStore, DisposableBean {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService cleaner = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "idempotency-cleaner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LocalIdempotencyStore() {
+        cleaner.scheduleWithFixedDelay(this::evictExpired, 1, 1, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public IdempotencyRecord putIfAbsent(String key, IdempotencyRecord record, long ttlMillis) {
+        long now = System.currentTimeMillis();
+        Entry created = new Entry(record, now + ttlMillis);
+        Entry existing = entries.compute(key, (k, old) -> old == null || old.expireAt <= now ? created : old);
+        return existing == created ? null : existing.record;
+    }
+
+    @Override
+    public void put(String key, IdempotencyRecord record, long ttlMillis) {
+        entries.put(key, new Entry(record, System.currentTimeMillis() + ttlMillis));
+    }
+
+    @Override
+    public IdempotencyRecord get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null || entry.expireAt <= System.currentTimeMillis()) {
+            return null;
+        }
+        return entry.record;
+    }
+
+    @Override
+    public void remove(String key) {
+        entries.remove(key);
+    }
+
+    private void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expireAt <= now);
+    }
+
+    @Override
+    public void destroy() {
+        cleaner.shutdownNow();
+    }
+
+    private static class Entry {
+
+        final IdempotencyRecord record;
+        final long expireAt;
+
+        Entry(IdempotencyRecord record, long expireAt) {
+            this.record = record;
+            this.expireAt = expireAt;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.fish1208.chainmaker.idempotency;
+
+import com.alibaba.fastjson.JSON;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于redis的幂等存储，多个网关实例共享
+ */
+@Component
+@ConditionalOnProperty(prefix = "chain-gateway.idempotency", name = "store", havingValue = "redis")
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private IdempotencyProperties properties;
+
+    @Override
+    public IdempotencyRecord putIfAbsent(String key, IdempotencyRecord record, long ttlMillis) {
+        String redisKey = properties.getKeyPrefix() + key;
+        Boolean created = redisTemplate.opsForValue().setIfAbsent(redisKey, JSON.toJSONString(record), ttlMillis, TimeUnit.MILLISECONDS);
+        if (Boolean.TRUE.equals(created)) {
+            return null;
+        }
+        IdempotencyRecord existing = get(key);
+        // 期间恰好过期被删除，视为写入成功后重试一次
+        return existing != null ? existing : putIfAbsent(key, record, ttlMillis);
+    }
+
+    @Override
+    public void put(String key, IdempotencyRecord record, long ttlMillis) {
+        redisTemplate.opsForValue().set(properties.getKeyPrefix() + key, JSON.toJSONString(record), ttlMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public IdempotencyRecord get(String key) {
+        String value = redisTemplate.opsForValue().get(properties.getKeyPrefix() + key);
+        return value == null ? null : JSON.parseObject(value, IdempotencyRecord.class);
+    }
+
+    @Override
+    public void remove(String key) {
+        redisTemplate.delete(properties.getKeyPrefix() + key);
+    }
+}
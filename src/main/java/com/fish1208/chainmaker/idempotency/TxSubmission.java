@@ -0,0 +1,13 @@
+package com.fish1208.chainmaker.idempotency;
+
+import org.chainmaker.pb.common.ResultOuterClass;
+import org.chainmaker.sdk.SdkException;
+
+/**
+ * 使用指定txId发送交易
+ */
+@FunctionalInterface
+public interface TxSubmission {
+
+    ResultOuterClass.TxResponse submit(String txId) throws SdkException;
+}
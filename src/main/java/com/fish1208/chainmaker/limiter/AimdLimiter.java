@@ -0,0 +1,106 @@
+package com.fish1208.chainmaker.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 基于延迟的AIMD并发限流器
+ *
+ * 记录一段窗口内的最小延迟作为无负载延迟(rtt noload)，当采样延迟超过 noload * rttTolerance
+ * 或调用失败时按backoffRatio乘性减小limit，否则在并发接近limit时加性增大limit。
+ */
+public class AimdLimiter {
+
+    /**
+     * 每多少次采样重置一次无负载延迟，以适应节点性能变化
+     */
+    private static final int RTT_NOLOAD_WINDOW = 1000;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double backoffRatio;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private long rttNoLoad = Long.MAX_VALUE;
+    private int samples;
+
+    public AimdLimiter(LimiterProperties.Budget budget) {
+        this.minLimit = budget.getMinLimit();
+        this.maxLimit = budget.getMaxLimit();
+        this.rttTolerance = budget.getRttTolerance();
+        this.backoffRatio = budget.getBackoffRatio();
+        this.estimatedLimit = budget.getInitialLimit();
+        this.limit = budget.getInitialLimit();
+    }
+
+    /**
+     * 尝试占用一个并发名额，不阻塞
+     *
+     * @return 是否占用成功
+     */
+    public boolean tryAcquire() {
+        for (;;) {
+            int current = inflight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 调用成功返回，释放名额并根据延迟调整limit
+     *
+     * @param rttNanos 调用耗时
+     */
+    public void onSuccess(long rttNanos) {
+        int current = inflight.getAndDecrement();
+        update(rttNanos, current, false);
+    }
+
+    /**
+     * 调用失败(超时、连接异常)，释放名额并减小limit
+     */
+    public void onDropped() {
+        int current = inflight.getAndDecrement();
+        update(0, current, true);
+    }
+
+    /**
+     * 调用未真正发出(如被取消)，仅释放名额
+     */
+    public void onIgnore() {
+        inflight.decrementAndGet();
+    }
+
+    private synchronized void update(long rttNanos, int inflightAtRelease, boolean dropped) {
+        if (++samples >= RTT_NOLOAD_WINDOW) {
+            samples = 0;
+            rttNoLoad = Long.MAX_VALUE;
+        }
+        if (!dropped && rttNanos > 0 && rttNanos < rttNoLoad) {
+            rttNoLoad = rttNanos;
+        }
+
+        if (dropped || (rttNanos > 0 && rttNanos > rttNoLoad * rttTolerance)) {
+            estimatedLimit = Math.max(minLimit, estimatedLimit * backoffRatio);
+        } else if (inflightAtRelease * 2 >= limit) {
+            // 只有并发真正用到一半以上时才扩容，避免空闲时limit无限上涨
+            estimatedLimit = Math.min(maxLimit, estimatedLimit + 1.0 / estimatedLimit);
+        }
+        limit = (int) estimatedLimit;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+}
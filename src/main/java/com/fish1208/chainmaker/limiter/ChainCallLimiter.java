@@ -0,0 +1,105 @@
+package com.fish1208.chainmaker.limiter;
+
+import com.fish1208.chainmaker.gateway.ChainCallType;
+import com.fish1208.common.exception.ChainOverloadException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 链调用并发限流，查询与上链分别使用独立的AIMD预算。未启用调度时预算用尽快速失败，
+ * 启用调度时由调度器在出队时占用名额，预算用尽的任务在通道队列中等待
+ */
+@Slf4j
+@Component
+public class ChainCallLimiter {
+
+    private final boolean enabled;
+    private final Map<ChainCallType, AimdLimiter> limiters = new EnumMap<>(ChainCallType.class);
+    private final Map<ChainCallType, Counter> rejected = new EnumMap<>(ChainCallType.class);
+
+    public ChainCallLimiter(LimiterProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        register(ChainCallType.QUERY, properties.getQuery(), meterRegistry);
+        register(ChainCallType.INVOKE, properties.getInvoke(), meterRegistry);
+        register(ChainCallType.MANAGE, properties.getManage(), meterRegistry);
+    }
+
+    private void register(ChainCallType type, LimiterProperties.Budget budget, MeterRegistry meterRegistry) {
+        AimdLimiter limiter = new AimdLimiter(budget);
+        limiters.put(type, limiter);
+        String tag = type.name().toLowerCase();
+        Gauge.builder("chain.limiter.limit", limiter, AimdLimiter::getLimit).tag("type", tag).register(meterRegistry);
+        Gauge.builder("chain.limiter.inflight", limiter, AimdLimiter::getInflight).tag("type", tag).register(meterRegistry);
+        rejected.put(type, Counter.builder("chain.limiter.rejected").tag("type", tag).register(meterRegistry));
+    }
+
+    /**
+     * 占用一个并发名额，预算用尽时抛出ChainOverloadException
+     *
+     * @param type 调用类型
+     * @return 调用结束后必须释放的许可
+     */
+    public Permit acquire(ChainCallType type) {
+        Permit permit = tryAcquire(type);
+        if (permit == null) {
+            rejected.get(type).increment();
+            log.warn("chain call rejected, type = {}, limit = {}", type, limiters.get(type).getLimit());
+            throw new ChainOverloadException(type);
+        }
+        return permit;
+    }
+
+    /**
+     * 占用一个并发名额，预算用尽时返回null。调度器在任务出队时调用，排队中的任务不占名额
+     */
+    public Permit tryAcquire(ChainCallType type) {
+        if (!enabled) {
+            return Permit.NOOP;
+        }
+        AimdLimiter limiter = limiters.get(type);
+        return limiter.tryAcquire() ? new Permit(limiter) : null;
+    }
+
+    public static class Permit {
+
+        static final Permit NOOP = new Permit(null);
+
+        private final AimdLimiter limiter;
+        private volatile long startNanos = System.nanoTime();
+
+        Permit(AimdLimiter limiter) {
+            this.limiter = limiter;
+        }
+
+        /**
+         * 调用真正开始执行，排队时间不计入延迟采样
+         */
+        public void started() {
+            startNanos = System.nanoTime();
+        }
+
+        public void success() {
+            if (limiter != null) {
+                limiter.onSuccess(System.nanoTime() - startNanos);
+            }
+        }
+
+        public void dropped() {
+            if (limiter != null) {
+                limiter.onDropped();
+            }
+        }
+
+        public void ignore() {
+            if (limiter != null) {
+                limiter.onIgnore();
+            }
+        }
+    }
+}
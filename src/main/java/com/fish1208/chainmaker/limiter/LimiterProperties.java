@@ -0,0 +1,47 @@
+package com.fish1208.chainmaker.limiter;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 自适应限流配置
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chain-gateway.limiter")
+public class LimiterProperties {
+
+    private boolean enabled = true;
+
+    private Budget query = new Budget(20, 4, 200);
+
+    private Budget invoke = new Budget(10, 2, 100);
+
+    private Budget manage = new Budget(2, 1, 4);
+
+    @Data
+    public static class Budget {
+
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+        /**
+         * 延迟超过 无负载延迟 * rttTolerance 时视为拥塞
+         */
+        private double rttTolerance = 2.0;
+        /**
+         * 拥塞时limit的乘性衰减系数
+         */
+        private double backoffRatio = 0.9;
+
+        public Budget() {
+        }
+
+        public Budget(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.fish1208.chainmaker.netty;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+/**
+ * SDK在ChainClient内部创建gRPC通道，无法传入EventLoopGroup和分配器。
+ * gRPC未指定时所有通道共用同一个默认事件循环组，类路径上有epoll时自动使用epoll，
+ * 这里在ChainClient创建前通过系统属性调整这组共享资源的大小和分配器。
+ */
+public class NettyEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        NettyProperties properties = Binder.get(environment).bind("chain-gateway.netty", NettyProperties.class)
+                .orElseGet(NettyProperties::new);
+
+        int threads = properties.getEventLoopThreads() > 0 ? properties.getEventLoopThreads() : Runtime.getRuntime().availableProcessors();
+        setIfAbsent("io.netty.eventLoopThreads", String.valueOf(threads));
+        setIfAbsent("io.netty.allocator.type", "pooled");
+        setIfAbsent("io.netty.noPreferDirect", String.valueOf(!properties.isPreferDirect()));
+        if (properties.isSharedAllocator()) {
+            setIfAbsent("io.grpc.netty.useCustomAllocator", "false");
+        }
+    }
+
+    private static void setIfAbsent(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.fish1208.chainmaker.netty;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocatorMetric;
+import io.netty.channel.epoll.Epoll;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * gRPC共享Netty资源的指标
+ */
+@Slf4j
+@Component
+public class NettyMetrics implements InitializingBean {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public void afterPropertiesSet() {
+        PooledByteBufAllocatorMetric metric = PooledByteBufAllocator.DEFAULT.metric();
+        Gauge.builder("chain.netty.allocator.used", metric, PooledByteBufAllocatorMetric::usedDirectMemory)
+                .tag("memory", "direct").baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("chain.netty.allocator.used", metric, PooledByteBufAllocatorMetric::usedHeapMemory)
+                .tag("memory", "heap").baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("chain.netty.allocator.thread.caches", metric, PooledByteBufAllocatorMetric::numThreadLocalCaches)
+                .register(meterRegistry);
+        Gauge.builder("chain.netty.event.loop.threads", () -> Integer.getInteger("io.netty.eventLoopThreads", 0))
+                .register(meterRegistry);
+        Gauge.builder("chain.netty.epoll", () -> Epoll.isAvailable() ? 1 : 0).register(meterRegistry);
+
+        log.info("netty transport, epoll = {}, eventLoopThreads = {}, grpcCustomAllocator = {}", Epoll.isAvailable(),
+                System.getProperty("io.netty.eventLoopThreads"), System.getProperty("io.grpc.netty.useCustomAllocator"));
+        if (!Epoll.isAvailable() && Epoll.unavailabilityCause() != null) {
+            log.info("epoll unavailable, e = {}", Epoll.unavailabilityCause().getMessage());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.fish1208.chainmaker.netty;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * gRPC底层Netty配置，在Netty类加载前转换成系统属性，启动参数中已有-D设置的不覆盖
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chain-gateway.netty")
+public class NettyProperties {
+
+    /**
+     * 所有gRPC通道共用的默认事件循环线程数，0表示CPU核数(Netty默认为两倍核数)
+     */
+    private int eventLoopThreads = 0;
+
+    /**
+     * gRPC使用Netty全局池化分配器，而不是另建一个自有分配器
+     */
+    private boolean sharedAllocator = true;
+
+    /**
+     * 直接内存不足时可改为false使用堆内缓冲
+     */
+    private boolean preferDirect = true;
+}
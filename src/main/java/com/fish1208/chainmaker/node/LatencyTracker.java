@@ -0,0 +1,43 @@
+package com.fish1208.chainmaker.node;
+
+import java.util.Arrays;
+
+/**
+ * 记录最近若干次调用耗时，用于估算节点的延迟分位数
+ */
+public class LatencyTracker {
+
+    private static final int WINDOW = 512;
+    private static final int REFRESH_EVERY = 64;
+
+    private final long[] samples = new long[WINDOW];
+    private final double percentile;
+    private int count;
+    private int position;
+    private long recorded;
+    private volatile long cachedPercentile = -1;
+
+    public LatencyTracker(double percentile) {
+        this.percentile = percentile;
+    }
+
+    public synchronized void record(long nanos) {
+        samples[position] = nanos;
+        position = (position + 1) % WINDOW;
+        if (count < WINDOW) {
+            count++;
+        }
+        if (++recorded % REFRESH_EVERY == 0) {
+            long[] copy = Arrays.copyOf(samples, count);
+            Arrays.sort(copy);
+            cachedPercentile = copy[Math.min(count - 1, (int) (count * percentile))];
+        }
+    }
+
+    /**
+     * @return 分位数延迟(纳秒)，样本不足时返回-1
+     */
+    public long getPercentileNanos() {
+        return cachedPercentile;
+    }
+}
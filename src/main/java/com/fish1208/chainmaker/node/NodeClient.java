@@ -0,0 +1,64 @@
+package com.fish1208.chainmaker.node;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.chainmaker.sdk.ChainClient;
+
+/**
+ * 只连接单个节点的ChainClient及其运行状态
+ */
+@Getter
+public class NodeClient {
+
+    private final String nodeAddr;
+
+    /**
+     * 在sdk_config节点列表中的位置，重建客户端时据此取配置
+     */
+    private final int index;
+
+    /**
+     * 是否为该节点单独创建的客户端，复用主ChainClient时不能重建
+     */
+    private final boolean dedicated;
+
+    private final LatencyTracker latency;
+
+    @Setter
+    private volatile ChainClient chainClient;
+
+    /**
+     * 探测到的最新区块高度，未探测到时为-1
+     */
+    private volatile long height = -1;
+
+    @Setter
+    private volatile boolean healthy = true;
+
+    @Setter
+    private volatile boolean lagging;
+
+    public NodeClient(String nodeAddr, int index, boolean dedicated, ChainClient chainClient, double latencyPercentile) {
+        this.nodeAddr = nodeAddr;
+        this.index = index;
+        this.dedicated = dedicated;
+        this.chainClient = chainClient;
+        this.latency = new LatencyTracker(latencyPercentile);
+    }
+
+    /**
+     * 区块高度只增不减，并发更新时保留较大值
+     */
+    public synchronized void updateHeight(long height) {
+        if (height > this.height) {
+            this.height = height;
+        }
+    }
+
+    /**
+     * 是否参与读请求路由
+     */
+    public boolean isRoutable() {
+        return healthy && !lagging;
+    }
+}
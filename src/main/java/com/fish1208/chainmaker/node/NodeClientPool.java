@@ -0,0 +1,132 @@
+package com.fish1208.chainmaker.node;
+
+import com.fish1208.chainmaker.config.ChainSDKConfig;
+import com.fish1208.chainmaker.hedge.HedgeProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.chainmaker.sdk.ChainClient;
+import org.chainmaker.sdk.ChainManager;
+import org.chainmaker.sdk.SdkException;
+import org.chainmaker.sdk.config.NodeConfig;
+import org.chainmaker.sdk.config.SdkConfig;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 按sdk_config中的节点列表，为每个节点单独创建一个ChainClient，用于按节点路由只读调用。
+ *
+ * 只配置了一个节点时直接复用主ChainClient。
+ * 注意ChainManager按chainId缓存客户端，这里创建的单节点客户端会覆盖其缓存，
+ * 因此单节点客户端只通过本类持有的引用使用，不要再通过ChainManager查找。
+ */
+@Slf4j
+@Component
+public class NodeClientPool implements InitializingBean {
+
+    @Autowired
+    private ChainSDKConfig chainSDKConfig;
+
+    @Autowired
+    private ChainClient chainClient;
+
+    @Autowired
+    private HedgeProperties hedgeProperties;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private volatile List<NodeClient> nodes = Collections.emptyList();
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        SdkConfig sdkConfig = chainSDKConfig.loadSdkConfig();
+        NodeConfig[] nodeConfigs = sdkConfig.getChain_client().getNodes();
+        List<NodeClient> created = new ArrayList<>();
+        if (nodeConfigs.length < 2) {
+            created.add(new NodeClient(nodeConfigs[0].getNodeAddr(), 0, false, chainClient, hedgeProperties.getPercentile()));
+        } else {
+            for (int i = 0; i < nodeConfigs.length; i++) {
+                created.add(new NodeClient(nodeConfigs[i].getNodeAddr(), i, true, createNodeClient(i), hedgeProperties.getPercentile()));
+                log.info("node client created, nodeAddr = {}", nodeConfigs[i].getNodeAddr());
+            }
+        }
+        nodes = Collections.unmodifiableList(created);
+    }
+
+    public List<NodeClient> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * 健康且未落后的节点，全部不可用时退回全部节点，由调用自身的超时暴露问题
+     */
+    public List<NodeClient> getRoutableNodes() {
+        List<NodeClient> all = nodes;
+        List<NodeClient> routable = new ArrayList<>(all.size());
+        for (NodeClient node : all) {
+            if (node.isRoutable()) {
+                routable.add(node);
+            }
+        }
+        return routable.isEmpty() ? all : routable;
+    }
+
+    /**
+     * 为节点重新创建客户端，替换后关闭旧客户端的连接
+     *
+     * @return 复用主ChainClient的节点不重建，返回false
+     */
+    public boolean rebuild(NodeClient node) throws IOException, SdkException {
+        if (!node.isDedicated()) {
+            return false;
+        }
+        ChainClient old = node.getChainClient();
+        node.setChainClient(createNodeClient(node.getIndex()));
+        close(old);
+        log.info("node client rebuilt, nodeAddr = {}", node.getNodeAddr());
+        return true;
+    }
+
+    private ChainClient createNodeClient(int index) throws IOException, SdkException {
+        // 每个节点重新读取一份配置，避免共享可变的配置对象
+        SdkConfig nodeSdkConfig = chainSDKConfig.loadSdkConfig();
+        NodeConfig nodeConfig = nodeSdkConfig.getChain_client().getNodes()[index];
+        nodeSdkConfig.getChain_client().setNodes(new NodeConfig[]{nodeConfig});
+        return ChainManager.getInstance().createChainClient(nodeSdkConfig);
+    }
+
+    private static void close(ChainClient client) {
+        try {
+            client.stop();
+        } catch (Exception e) {
+            log.warn("close chain client failed, e = {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 轮询选择一个节点
+     */
+    public NodeClient pick(List<NodeClient> candidates) {
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    /**
+     * 选择一个不同于exclude的节点，没有其他节点时返回null
+     */
+    public NodeClient pickOther(List<NodeClient> candidates, NodeClient exclude) {
+        int size = candidates.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            NodeClient candidate = candidates.get((start + i) % size);
+            if (candidate != exclude) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,148 @@
+package com.fish1208.chainmaker.node;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 后台定时对每个节点调用getCurrentBlockHeight，
+ * 连续失败的节点移出读路由并重建客户端，区块高度落后过多的节点暂时移出读路由，
+ * 使失效连接由探测发现，而不是由用户请求的rpc超时发现。
+ */
+@Slf4j
+@Component
+public class NodeHealthProber implements InitializingBean, DisposableBean {
+
+    @Autowired
+    private NodeClientPool nodeClientPool;
+
+    @Autowired
+    private NodeProbeProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<NodeClient, AtomicInteger> failures = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+    private ExecutorService probes;
+    private Counter rebuilds;
+
+    @Override
+    public void afterPropertiesSet() {
+        rebuilds = Counter.builder("chain.node.rebuilds").register(meterRegistry);
+        List<NodeClient> nodes = nodeClientPool.getNodes();
+        for (NodeClient node : nodes) {
+            failures.put(node, new AtomicInteger());
+            Gauge.builder("chain.node.height", node, NodeClient::getHeight).tag("node", node.getNodeAddr()).register(meterRegistry);
+            Gauge.builder("chain.node.routable", node, n -> n.isRoutable() ? 1 : 0).tag("node", node.getNodeAddr()).register(meterRegistry);
+        }
+        if (!properties.isEnabled()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "chain-node-prober");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger threadIndex = new AtomicInteger();
+        probes = Executors.newFixedThreadPool(nodes.size(), r -> {
+            Thread thread = new Thread(r, "chain-node-probe-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::probeAll, properties.getInterval(), properties.getInterval(), TimeUnit.MILLISECONDS);
+    }
+
+    private void probeAll() {
+        try {
+            List<NodeClient> nodes = nodeClientPool.getNodes();
+            List<Future<?>> futures = new ArrayList<>(nodes.size());
+            for (NodeClient node : nodes) {
+                futures.add(probes.submit(() -> probe(node)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            updateLag(nodes);
+        } catch (Exception e) {
+            log.warn("node probe failed, e = {}", e.getMessage());
+        }
+    }
+
+    private void probe(NodeClient node) {
+        AtomicInteger failed = failures.get(node);
+        try {
+            node.updateHeight(node.getChainClient().getCurrentBlockHeight(properties.getTimeout()));
+            failed.set(0);
+            if (!node.isHealthy()) {
+                log.info("node recovered, nodeAddr = {}", node.getNodeAddr());
+                node.setHealthy(true);
+            }
+        } catch (Exception e) {
+            int count = failed.incrementAndGet();
+            if (count < properties.getFailureThreshold()) {
+                return;
+            }
+            if (node.isHealthy()) {
+                log.warn("node unhealthy, nodeAddr = {}, failures = {}, e = {}", node.getNodeAddr(), count, e.getMessage());
+                node.setHealthy(false);
+            }
+            // 每累计一轮阈值重建一次，避免节点长时间宕机时反复重建
+            if (count % properties.getFailureThreshold() == 0) {
+                rebuild(node);
+            }
+        }
+    }
+
+    private void rebuild(NodeClient node) {
+        try {
+            if (nodeClientPool.rebuild(node)) {
+                rebuilds.increment();
+            }
+        } catch (Exception e) {
+            log.warn("rebuild node client failed, nodeAddr = {}, e = {}", node.getNodeAddr(), e.getMessage());
+        }
+    }
+
+    private void updateLag(List<NodeClient> nodes) {
+        long highest = -1;
+        for (NodeClient node : nodes) {
+            if (node.isHealthy()) {
+                highest = Math.max(highest, node.getHeight());
+            }
+        }
+        for (NodeClient node : nodes) {
+            boolean lagging = node.isHealthy() && highest - node.getHeight() > properties.getMaxLag();
+            if (lagging != node.isLagging()) {
+                log.info("node lagging changed, nodeAddr = {}, lagging = {}, height = {}, highest = {}",
+                        node.getNodeAddr(), lagging, node.getHeight(), highest);
+                node.setLagging(lagging);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            probes.shutdownNow();
+        }
+    }
+}
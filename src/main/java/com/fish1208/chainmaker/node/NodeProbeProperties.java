@@ -0,0 +1,36 @@
+package com.fish1208.chainmaker.node;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 节点健康探测配置
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chain-gateway.probe")
+public class NodeProbeProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * 探测间隔(毫秒)
+     */
+    private long interval = 2000;
+
+    /**
+     * 单次探测超时(毫秒)，应远小于业务调用的rpc超时
+     */
+    private long timeout = 1000;
+
+    /**
+     * 连续失败多少次判定为不健康并重建客户端
+     */
+    private int failureThreshold = 3;
+
+    /**
+     * 落后最高节点超过多少个区块时暂时移出读路由
+     */
+    private long maxLag = 5;
+}
@@ -0,0 +1,50 @@
+package com.fish1208.chainmaker.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 发件箱中一笔待上链的交易
+ */
+@Getter
+@AllArgsConstructor
+public class OutboxEntry {
+
+    private final String txId;
+    private final String contractName;
+    private final String method;
+    private final Map<String, byte[]> params;
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeUTF(txId);
+        out.writeUTF(contractName);
+        out.writeUTF(method);
+        out.writeInt(params.size());
+        for (Map.Entry<String, byte[]> param : params.entrySet()) {
+            out.writeUTF(param.getKey());
+            out.writeInt(param.getValue().length);
+            out.write(param.getValue());
+        }
+    }
+
+    static OutboxEntry readFrom(DataInput in) throws IOException {
+        String txId = in.readUTF();
+        String contractName = in.readUTF();
+        String method = in.readUTF();
+        int size = in.readInt();
+        Map<String, byte[]> params = new LinkedHashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            String key = in.readUTF();
+            byte[] value = new byte[in.readInt()];
+            in.readFully(value);
+            params.put(key, value);
+        }
+        return new OutboxEntry(txId, contractName, method, params);
+    }
+}
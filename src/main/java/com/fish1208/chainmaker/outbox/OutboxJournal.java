@@ -0,0 +1,172 @@
+package com.fish1208.chainmaker.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * 只追加的发件箱日志
+ *
+ * 记录格式：int 长度 | int crc32 | byte 类型 | 内容。类型ACCEPT内容为完整交易，DONE内容为txId。
+ * 读取时遇到长度非法、校验失败或无法解析的记录(进程崩溃时的半写或补零的尾部)即停止。
+ * 非线程安全，只由组提交线程使用。
+ */
+@Slf4j
+class OutboxJournal {
+
+    static final byte ACCEPT = 1;
+    static final byte DONE = 2;
+
+    private static final String FILE_NAME = "outbox.log";
+    private static final String COMPACT_FILE_NAME = "outbox.log.compact";
+
+    /**
+     * 单条记录内容的长度上限，超过视为损坏
+     */
+    private static final int MAX_RECORD = 4 * 1024 * 1024;
+
+    private final Path file;
+    private final Path compactFile;
+    private FileChannel channel;
+
+    OutboxJournal(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        this.file = dir.resolve(FILE_NAME);
+        this.compactFile = dir.resolve(COMPACT_FILE_NAME);
+    }
+
+    /**
+     * 读取日志中尚未完成的交易，并压缩日志后打开用于追加
+     */
+    Map<String, OutboxEntry> open() throws IOException {
+        Map<String, OutboxEntry> pending = new LinkedHashMap<>();
+        if (Files.exists(file)) {
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+                DataInputStream data = new DataInputStream(in);
+                CRC32 crc = new CRC32();
+                while (true) {
+                    try {
+                        int length = data.readInt();
+                        int checksum = data.readInt();
+                        if (length <= 0 || length > MAX_RECORD) {
+                            log.warn("outbox journal has invalid record length {}, ignore remaining records", length);
+                            break;
+                        }
+                        byte[] body = new byte[length];
+                        data.readFully(body);
+                        crc.reset();
+                        crc.update(body, 0, body.length);
+                        if ((int) crc.getValue() != checksum) {
+                            log.warn("outbox journal has corrupted tail, ignore remaining records");
+                            break;
+                        }
+                        DataInputStream record = new DataInputStream(new ByteArrayInputStream(body));
+                        byte type = record.readByte();
+                        if (type == ACCEPT) {
+                            OutboxEntry entry = OutboxEntry.readFrom(record);
+                            pending.put(entry.getTxId(), entry);
+                        } else if (type == DONE) {
+                            pending.remove(record.readUTF());
+                        }
+                    } catch (EOFException e) {
+                        break;
+                    } catch (IOException | RuntimeException e) {
+                        log.warn("outbox journal has unreadable record, ignore remaining records, e = {}", e.toString());
+                        break;
+                    }
+                }
+            }
+        }
+        compact(pending.values());
+        return pending;
+    }
+
+    /**
+     * 追加一批已编码的记录并刷盘
+     */
+    void append(List<ByteBuffer> records) throws IOException {
+        ByteBuffer[] buffers = records.toArray(new ByteBuffer[0]);
+        long remaining = 0;
+        for (ByteBuffer buffer : buffers) {
+            remaining += buffer.remaining();
+        }
+        while (remaining > 0) {
+            remaining -= channel.write(buffers);
+        }
+        channel.force(false);
+    }
+
+    long size() throws IOException {
+        return channel.size();
+    }
+
+    /**
+     * 将未完成交易写入新文件后原子替换旧日志
+     */
+    void compact(Collection<OutboxEntry> pending) throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+        try (FileChannel out = FileChannel.open(compactFile, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (OutboxEntry entry : pending) {
+                ByteBuffer record = encodeAccept(entry);
+                while (record.hasRemaining()) {
+                    out.write(record);
+                }
+            }
+            out.force(true);
+        }
+        Files.move(compactFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    static ByteBuffer encodeAccept(OutboxEntry entry) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(body);
+        out.writeByte(ACCEPT);
+        entry.writeTo(out);
+        return frame(body.toByteArray());
+    }
+
+    static ByteBuffer encodeDone(String txId) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(80);
+        DataOutputStream out = new DataOutputStream(body);
+        out.writeByte(DONE);
+        out.writeUTF(txId);
+        return frame(body.toByteArray());
+    }
+
+    private static ByteBuffer frame(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body, 0, body.length);
+        ByteBuffer buffer = ByteBuffer.allocate(8 + body.length);
+        buffer.putInt(body.length).putInt((int) crc.getValue()).put(body);
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -0,0 +1,41 @@
+package com.fish1208.chainmaker.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 交易发件箱配置
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chain-gateway.outbox")
+public class OutboxProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * 日志文件目录
+     */
+    private String dir = "./outbox";
+
+    /**
+     * 一次组提交最多合并的记录数
+     */
+    private int maxBatch = 512;
+
+    /**
+     * 日志超过该大小(字节)时压缩为只含未完成交易的新文件
+     */
+    private long compactThreshold = 64 * 1024 * 1024L;
+
+    /**
+     * 异步提交交易的线程数
+     */
+    private int submitThreads = 8;
+
+    /**
+     * 提交失败重试的最大退避时间(毫秒)
+     */
+    private long maxBackoff = 30000;
+}
@@ -0,0 +1,232 @@
+package com.fish1208.chainmaker.outbox;
+
+import com.fish1208.chainmaker.gateway.ChainGateway;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.chainmaker.pb.common.ChainmakerTransaction;
+import org.chainmaker.pb.common.ResultOuterClass;
+import org.chainmaker.sdk.SdkException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 交易发件箱
+ *
+ * 交易先写入本地日志并刷盘后即可应答客户端，再由后台线程异步上链，上链后追加DONE记录。
+ * 多个请求的日志写入由单个线程合并成一次write + fsync(组提交)。
+ * 进程重启时重放日志中没有DONE的交易，重放使用原txId，链上按txId去重。
+ */
+@Slf4j
+@Component
+public class TransactionOutbox implements InitializingBean, DisposableBean {
+
+    private static final long RPC_CALL_TIMEOUT = 10000;
+    private static final long SYNC_RESULT_TIMEOUT = 10000;
+
+    @Autowired
+    private OutboxProperties properties;
+
+    @Autowired
+    private ChainGateway chainGateway;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final BlockingQueue<Write> writes = new LinkedBlockingQueue<>();
+    private final Map<String, OutboxEntry> pending = new ConcurrentHashMap<>();
+
+    private OutboxJournal journal;
+    private Thread writer;
+    private ScheduledThreadPoolExecutor submitter;
+    private Timer commitTimer;
+    private volatile boolean running;
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        journal = new OutboxJournal(Paths.get(properties.getDir()));
+        pending.putAll(journal.open());
+
+        commitTimer = Timer.builder("chain.outbox.commit").register(meterRegistry);
+        Gauge.builder("chain.outbox.pending", pending, Map::size).register(meterRegistry);
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        submitter = new ScheduledThreadPoolExecutor(properties.getSubmitThreads(), r -> {
+            Thread thread = new Thread(r, "outbox-submit-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        running = true;
+        writer = new Thread(this::writeLoop, "outbox-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        if (!pending.isEmpty()) {
+            log.info("replay outbox, pending = {}", pending.size());
+        }
+        for (OutboxEntry entry : pending.values()) {
+            submitter.execute(() -> submit(entry, 0));
+        }
+    }
+
+    /**
+     * 交易写入日志并刷盘后返回，随后异步上链
+     */
+    public void accept(OutboxEntry entry) throws IOException {
+        if (!running) {
+            throw new IllegalStateException("outbox is disabled");
+        }
+        Write write = new Write(OutboxJournal.encodeAccept(entry));
+        // 先登记再写日志，保证写入后立即发生的日志压缩不会丢掉这笔交易
+        pending.put(entry.getTxId(), entry);
+        writes.add(write);
+        try {
+            write.done.get();
+        } catch (InterruptedException e) {
+            pending.remove(entry.getTxId());
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while writing outbox", e);
+        } catch (ExecutionException e) {
+            pending.remove(entry.getTxId());
+            throw new IOException("write outbox failed", e.getCause());
+        }
+        submitter.execute(() -> submit(entry, 0));
+    }
+
+    /**
+     * @return 发件箱已启用并可接收交易
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    public boolean isPending(String txId) {
+        return pending.containsKey(txId);
+    }
+
+    private void submit(OutboxEntry entry, int attempt) {
+        try {
+            ResultOuterClass.TxResponse response = chainGateway.invoke(client -> client.invokeContract(entry.getContractName(),
+                    entry.getMethod(), entry.getTxId(), entry.getParams(), RPC_CALL_TIMEOUT, SYNC_RESULT_TIMEOUT));
+            if (response.getCode() == ResultOuterClass.TxStatusCode.TIMEOUT && !isOnChain(entry.getTxId())) {
+                throw new IllegalStateException("tx result timeout");
+            }
+            log.info("outbox tx submitted, txId = {}, code = {}", entry.getTxId(), response.getCode());
+            done(entry);
+        } catch (SdkException | RuntimeException e) {
+            // 重放或超时后重试时链上会以txId重复拒绝，交易已上链即视为完成
+            if (isOnChain(entry.getTxId())) {
+                log.info("outbox tx already on chain, txId = {}", entry.getTxId());
+                done(entry);
+                return;
+            }
+            long backoff = Math.min(properties.getMaxBackoff(), 200L << Math.min(attempt, 16));
+            log.warn("outbox tx submit failed, txId = {}, retry in {}ms, e = {}", entry.getTxId(), backoff, e.getMessage());
+            if (running) {
+                submitter.schedule(() -> submit(entry, attempt + 1), backoff, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void done(OutboxEntry entry) {
+        pending.remove(entry.getTxId());
+        // DONE记录丢失只会导致重启后重放，链上按txId去重，因此不等待刷盘
+        try {
+            writes.add(new Write(OutboxJournal.encodeDone(entry.getTxId())));
+        } catch (IOException e) {
+            log.warn("encode outbox done record failed, txId = {}", entry.getTxId(), e);
+        }
+    }
+
+    private boolean isOnChain(String txId) {
+        try {
+            ChainmakerTransaction.TransactionInfo info = chainGateway.query(client -> client.getTxByTxId(txId, RPC_CALL_TIMEOUT));
+            return info != null && info.hasTransaction();
+        } catch (SdkException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void writeLoop() {
+        List<Write> batch = new ArrayList<>(properties.getMaxBatch());
+        List<ByteBuffer> records = new ArrayList<>(properties.getMaxBatch());
+        while (running || !writes.isEmpty()) {
+            try {
+                Write first = writes.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                writes.drainTo(batch, properties.getMaxBatch() - 1);
+                for (Write write : batch) {
+                    records.add(write.record);
+                }
+
+                long start = System.nanoTime();
+                journal.append(records);
+                commitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                for (Write write : batch) {
+                    write.done.complete(null);
+                }
+
+                if (journal.size() > properties.getCompactThreshold()) {
+                    journal.compact(new ArrayList<>(pending.values()));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                log.error("outbox journal write failed", e);
+                for (Write write : batch) {
+                    write.done.completeExceptionally(e);
+                }
+            } finally {
+                batch.clear();
+                records.clear();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (journal == null) {
+            return;
+        }
+        running = false;
+        submitter.shutdownNow();
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        journal.close();
+    }
+
+    private static class Write {
+
+        final ByteBuffer record;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Write(ByteBuffer record) {
+            this.record = record;
+        }
+    }
+}
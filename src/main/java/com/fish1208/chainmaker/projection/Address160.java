@@ -0,0 +1,87 @@
+package com.fish1208.chainmaker.projection;
+
+/**
+ * 20字节地址，拆成三个基本类型字段保存，作为余额表的key避免字符串比较和哈希
+ */
+public final class Address160 {
+
+    public static final Address160 ZERO = new Address160(0, 0, 0);
+
+    private final long high;
+    private final long middle;
+    private final int low;
+
+    private Address160(long high, long middle, int low) {
+        this.high = high;
+        this.middle = middle;
+        this.low = low;
+    }
+
+    public static Address160 of(long high, long middle, int low) {
+        return new Address160(high, middle, low);
+    }
+
+    /**
+     * 解析十六进制地址，可带0x前缀；超过40位时取最后40位(32字节topic左侧补零)
+     */
+    public static Address160 fromHex(CharSequence hex) {
+        int end = hex.length();
+        int start = end - 40;
+        int prefix = hex.length() > 1 && hex.charAt(0) == '0' && (hex.charAt(1) == 'x' || hex.charAt(1) == 'X') ? 2 : 0;
+        if (start < prefix) {
+            throw new IllegalArgumentException("invalid address: " + hex);
+        }
+        return new Address160(parseLong(hex, start, 16), parseLong(hex, start + 16, 16), (int) parseLong(hex, start + 32, 8));
+    }
+
+    private static long parseLong(CharSequence hex, int offset, int digits) {
+        long value = 0;
+        for (int i = 0; i < digits; i++) {
+            int digit = Character.digit(hex.charAt(offset + i), 16);
+            if (digit < 0) {
+                throw new IllegalArgumentException("invalid address: " + hex);
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    public long getHigh() {
+        return high;
+    }
+
+    public long getMiddle() {
+        return middle;
+    }
+
+    public int getLow() {
+        return low;
+    }
+
+    public boolean isZero() {
+        return high == 0 && middle == 0 && low == 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Address160)) {
+            return false;
+        }
+        Address160 other = (Address160) o;
+        return high == other.high && middle == other.middle && low == other.low;
+    }
+
+    @Override
+    public int hashCode() {
+        long h = high * 31 + middle;
+        return (int) (h ^ (h >>> 32)) * 31 + low;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("0x%016x%016x%08x", high, middle, low);
+    }
+}
@@ -0,0 +1,93 @@
+package com.fish1208.chainmaker.projection;
+
+import com.fish1208.chainmaker.event.EventDecoders;
+import com.fish1208.chainmaker.gateway.ChainGateway;
+import com.fish1208.chainmaker.registry.ChainContext;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.chainmaker.sdk.utils.Utils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 由Transfer事件维护的ERC20余额投影，余额查询直接读内存表
+ */
+@Slf4j
+@Component
+public class BalanceProjection implements InitializingBean, DisposableBean {
+
+    @Autowired
+    private ProjectionProperties properties;
+
+    @Autowired
+    private ChainGateway chainGateway;
+
+    @Autowired
+    private EventDecoders eventDecoders;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, ContractBalanceProjection> projections = new ConcurrentHashMap<>();
+
+    private ExecutorService verifier;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Path dir = Paths.get(properties.getDir());
+        Files.createDirectories(dir);
+        verifier = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "projection-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (ProjectionProperties.Contract contract : properties.getContracts()) {
+            String contractName = contract.isHashName() ? Utils.calcContractName(contract.getName()) : contract.getName();
+            ContractBalanceProjection projection = new ContractBalanceProjection(contractName, contract, properties,
+                    chainGateway, eventDecoders, verifier, dir.resolve(contract.getName() + ".snapshot"));
+            projections.put(contractName, projection);
+            Gauge.builder("chain.projection.height", projection.getTable(), BalanceTable::getHeight)
+                    .tag("contract", contract.getName()).register(meterRegistry);
+            projection.start();
+        }
+    }
+
+    /**
+     * 查询投影中的余额
+     *
+     * @param contractName 链上合约名
+     * @param address      十六进制地址
+     * @return 未启用投影或尚未同步完成时返回null，调用方应回退到链上查询
+     */
+    public BigInteger balanceOf(String contractName, String address) {
+        ContractBalanceProjection projection = projections.get(contractName);
+        // 投影只跟踪默认链
+        if (projection == null || ChainContext.get() != null) {
+            return null;
+        }
+        return projection.balanceOf(Address160.fromHex(address));
+    }
+
+    @Override
+    public void destroy() {
+        projections.values().forEach(ContractBalanceProjection::stop);
+        if (verifier != null) {
+            verifier.shutdownNow();
+        }
+    }
+}
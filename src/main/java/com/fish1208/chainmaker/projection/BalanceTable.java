@@ -0,0 +1,103 @@
+package com.fish1208.chainmaker.projection;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 地址到余额的内存表，只由投影的事件线程写入，读请求可并发访问
+ */
+public class BalanceTable {
+
+    private final Map<Address160, BigInteger> balances = new ConcurrentHashMap<>();
+
+    /**
+     * 该高度及以下的事件已全部应用
+     */
+    private volatile long height = -1;
+
+    public BigInteger get(Address160 address) {
+        return balances.getOrDefault(address, BigInteger.ZERO);
+    }
+
+    /**
+     * 与token.sol一致：从0地址转出(铸币)不扣减0地址余额，转入0地址(销毁)计入0地址
+     */
+    void apply(TransferEvent event) {
+        if (!event.getFrom().isZero()) {
+            balances.merge(event.getFrom(), event.getValue().negate(), BigInteger::add);
+        }
+        balances.merge(event.getTo(), event.getValue(), BigInteger::add);
+    }
+
+    void adjust(Address160 address, BigInteger delta) {
+        balances.merge(address, delta, BigInteger::add);
+    }
+
+    public long getHeight() {
+        return height;
+    }
+
+    void setHeight(long height) {
+        this.height = height;
+    }
+
+    Map<Address160, BigInteger> copy() {
+        return new HashMap<>(balances);
+    }
+
+    /**
+     * 写入快照，先写临时文件再原子替换
+     */
+    static void writeSnapshot(Path file, long height, Map<Address160, BigInteger> balances) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeLong(height);
+            out.writeInt(balances.size());
+            for (Map.Entry<Address160, BigInteger> entry : balances.entrySet()) {
+                out.writeLong(entry.getKey().getHigh());
+                out.writeLong(entry.getKey().getMiddle());
+                out.writeInt(entry.getKey().getLow());
+                byte[] value = entry.getValue().toByteArray();
+                out.writeShort(value.length);
+                out.write(value);
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 读取快照到空表中
+     */
+    void loadSnapshot(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            long snapshotHeight = in.readLong();
+            int size = in.readInt();
+            balances.clear();
+            for (int i = 0; i < size; i++) {
+                Address160 address = Address160.of(in.readLong(), in.readLong(), in.readInt());
+                byte[] value = new byte[in.readUnsignedShort()];
+                in.readFully(value);
+                balances.put(address, new BigInteger(value));
+            }
+            height = snapshotHeight;
+        }
+    }
+
+    void clear() {
+        balances.clear();
+        height = -1;
+    }
+}
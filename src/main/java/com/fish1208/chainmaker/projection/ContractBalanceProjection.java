@@ -0,0 +1,404 @@
+package com.fish1208.chainmaker.projection;
+
+import com.fish1208.chainmaker.event.EventDecoders;
+import com.fish1208.chainmaker.gateway.ChainGateway;
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.grpc.stub.StreamObserver;
+import lombok.extern.slf4j.Slf4j;
+import org.chainmaker.pb.common.ChainmakerBlock;
+import org.chainmaker.pb.common.ChainmakerTransaction;
+import org.chainmaker.pb.common.ResultOuterClass;
+import org.chainmaker.sdk.SdkException;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.utils.Numeric;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单个合约的余额投影
+ *
+ * 启动时加载快照，先订阅实时合约事件(缓存不应用)，再用subscribeBlock回放快照高度之后到当前高度的区块，
+ * 回放完成后按高度应用缓存事件并切换为实时模式。所有状态变更都在单个事件线程上执行。
+ * 实时事件没有区块结束标记，收到更高区块的事件时才认为上一个区块已完整。
+ */
+@Slf4j
+class ContractBalanceProjection {
+
+    private static final long RPC_CALL_TIMEOUT = 10000;
+
+    private final String contractName;
+    private final ProjectionProperties.Contract config;
+    private final ProjectionProperties properties;
+    private final ChainGateway chainGateway;
+    private final EventDecoders eventDecoders;
+    private final ExecutorService verifier;
+    private final Path snapshotFile;
+    private final BalanceTable table = new BalanceTable();
+    private final ScheduledExecutorService executor;
+
+    // 以下字段只在事件线程访问
+    private long partialHeight = -1;
+    private final Set<String> partialKeys = new HashSet<>();
+    private final List<LiveEvent> buffer = new ArrayList<>();
+    private boolean live;
+    private int liveGeneration;
+    private long lastSnapshot = System.currentTimeMillis();
+    private final Map<Address160, BigInteger> suspects = new HashMap<>();
+    private List<Check> checks = new ArrayList<>();
+
+    private volatile boolean ready;
+
+    ContractBalanceProjection(String contractName, ProjectionProperties.Contract config, ProjectionProperties properties,
+                              ChainGateway chainGateway, EventDecoders eventDecoders, ExecutorService verifier, Path snapshotFile) {
+        this.contractName = contractName;
+        this.config = config;
+        this.properties = properties;
+        this.chainGateway = chainGateway;
+        this.eventDecoders = eventDecoders;
+        this.verifier = verifier;
+        this.snapshotFile = snapshotFile;
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "projection-" + config.getName());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    void start() {
+        executor.execute(() -> {
+            try {
+                table.loadSnapshot(snapshotFile);
+                partialHeight = table.getHeight();
+                log.info("projection snapshot loaded, contract = {}, height = {}", contractName, table.getHeight());
+            } catch (IOException e) {
+                log.warn("projection snapshot unreadable, rebuild from genesis, contract = {}", contractName, e);
+                table.clear();
+            }
+            subscribeLive();
+        });
+    }
+
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return 投影未同步完成时返回null
+     */
+    BigInteger balanceOf(Address160 address) {
+        return ready ? table.get(address) : null;
+    }
+
+    BalanceTable getTable() {
+        return table;
+    }
+
+    private void subscribeLive() {
+        ready = false;
+        live = false;
+        buffer.clear();
+        checks.clear();
+        int generation = ++liveGeneration;
+        try {
+            chainGateway.getChainClient().subscribeContractEvent(TransferEvent.TOPIC, contractName, new StreamObserver<ResultOuterClass.SubscribeResult>() {
+                @Override
+                public void onNext(ResultOuterClass.SubscribeResult result) {
+                    try {
+                        ResultOuterClass.ContractEventInfoList events = ResultOuterClass.ContractEventInfoList.parseFrom(result.getData());
+                        executor.execute(() -> onLive(generation, events));
+                    } catch (InvalidProtocolBufferException e) {
+                        log.error("invalid contract event, contract = {}", contractName, e);
+                    }
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    log.warn("contract event subscription broken, contract = {}, e = {}", contractName, throwable.getMessage());
+                    executor.execute(() -> {
+                        if (generation == liveGeneration) {
+                            executor.schedule(ContractBalanceProjection.this::subscribeLive, properties.getResyncDelay(), TimeUnit.MILLISECONDS);
+                        }
+                    });
+                }
+
+                @Override
+                public void onCompleted() {
+                    onError(new IllegalStateException("subscription completed"));
+                }
+            });
+        } catch (SdkException | RuntimeException e) {
+            log.warn("subscribe contract event failed, contract = {}, e = {}", contractName, e.getMessage());
+            executor.schedule(this::subscribeLive, properties.getResyncDelay(), TimeUnit.MILLISECONDS);
+            return;
+        }
+        catchUp(generation);
+    }
+
+    /**
+     * 回放table高度之后到当前高度的区块
+     */
+    private void catchUp(int generation) {
+        if (generation != liveGeneration) {
+            return;
+        }
+        long current;
+        try {
+            current = chainGateway.query(client -> client.getCurrentBlockHeight(RPC_CALL_TIMEOUT));
+        } catch (SdkException | RuntimeException e) {
+            log.warn("get current block height failed, contract = {}, e = {}", contractName, e.getMessage());
+            executor.schedule(() -> catchUp(generation), properties.getResyncDelay(), TimeUnit.MILLISECONDS);
+            return;
+        }
+        long from = table.getHeight() + 1;
+        if (from > current) {
+            goLive(generation);
+            return;
+        }
+        log.info("projection catch up, contract = {}, from = {}, to = {}", contractName, from, current);
+        try {
+            chainGateway.getChainClient().subscribeBlock(from, current, false, false, new StreamObserver<ResultOuterClass.SubscribeResult>() {
+                @Override
+                public void onNext(ResultOuterClass.SubscribeResult result) {
+                    try {
+                        ChainmakerBlock.BlockInfo blockInfo = ChainmakerBlock.BlockInfo.parseFrom(result.getData());
+                        executor.execute(() -> applyBlock(blockInfo));
+                    } catch (InvalidProtocolBufferException e) {
+                        log.error("invalid block, contract = {}", contractName, e);
+                    }
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    log.warn("catch up broken, contract = {}, e = {}", contractName, throwable.getMessage());
+                    executor.schedule(() -> catchUp(generation), properties.getResyncDelay(), TimeUnit.MILLISECONDS);
+                }
+
+                @Override
+                public void onCompleted() {
+                    executor.execute(() -> goLive(generation));
+                }
+            });
+        } catch (SdkException | RuntimeException e) {
+            log.warn("subscribe block failed, contract = {}, e = {}", contractName, e.getMessage());
+            executor.schedule(() -> catchUp(generation), properties.getResyncDelay(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void goLive(int generation) {
+        if (generation != liveGeneration) {
+            return;
+        }
+        buffer.sort(Comparator.comparingLong(LiveEvent::getHeight));
+        for (LiveEvent event : buffer) {
+            applyEvent(event.height, event.key, event.transfer);
+        }
+        buffer.clear();
+        live = true;
+        ready = true;
+        log.info("projection live, contract = {}, height = {}", contractName, table.getHeight());
+    }
+
+    private void onLive(int generation, ResultOuterClass.ContractEventInfoList events) {
+        if (generation != liveGeneration) {
+            return;
+        }
+        for (ResultOuterClass.ContractEventInfo info : events.getContractEventsList()) {
+            TransferEvent transfer = TransferEvent.of(eventDecoders.decode(info));
+            if (transfer == null) {
+                continue;
+            }
+            String key = info.getTxId() + "#" + info.getEventIndex();
+            if (live) {
+                applyEvent(info.getBlockHeight(), key, transfer);
+            } else {
+                buffer.add(new LiveEvent(info.getBlockHeight(), key, transfer));
+            }
+        }
+    }
+
+    private void applyBlock(ChainmakerBlock.BlockInfo blockInfo) {
+        long height = blockInfo.getBlock().getHeader().getBlockHeight();
+        if (height <= table.getHeight()) {
+            return;
+        }
+        for (ChainmakerTransaction.Transaction tx : blockInfo.getBlock().getTxsList()) {
+            if (tx.getResult().getCode() != ResultOuterClass.TxStatusCode.SUCCESS) {
+                continue;
+            }
+            List<ResultOuterClass.ContractEvent> events = tx.getResult().getContractResult().getContractEventList();
+            for (int i = 0; i < events.size(); i++) {
+                ResultOuterClass.ContractEvent event = events.get(i);
+                if (!contractName.equals(event.getContractName())) {
+                    continue;
+                }
+                TransferEvent transfer = TransferEvent.of(eventDecoders.decode(height, event));
+                if (transfer != null) {
+                    applyEvent(height, event.getTxId() + "#" + i, transfer);
+                }
+            }
+        }
+        if (height > table.getHeight()) {
+            table.setHeight(height);
+            partialHeight = height;
+            partialKeys.clear();
+            maybeSnapshot();
+        }
+    }
+
+    private void applyEvent(long height, String key, TransferEvent transfer) {
+        if (height <= table.getHeight()) {
+            return;
+        }
+        if (height > partialHeight) {
+            // 更高区块的事件到达，上一个区块已完整，此时表中是height之前所有区块的状态
+            resolveChecks(height);
+            if (partialHeight > table.getHeight()) {
+                table.setHeight(partialHeight);
+                maybeSnapshot();
+            }
+            partialHeight = height;
+            partialKeys.clear();
+        } else if (height < partialHeight) {
+            log.warn("out of order transfer event, contract = {}, height = {}, partial = {}", contractName, height, partialHeight);
+        }
+        if (partialKeys.add(key)) {
+            table.apply(transfer);
+        }
+    }
+
+    private void maybeSnapshot() {
+        long now = System.currentTimeMillis();
+        if (now - lastSnapshot < properties.getSnapshotInterval()) {
+            return;
+        }
+        lastSnapshot = now;
+        long height = table.getHeight();
+        Map<Address160, BigInteger> copy = table.copy();
+        verifier.execute(() -> {
+            try {
+                BalanceTable.writeSnapshot(snapshotFile, height, copy);
+                log.info("projection snapshot written, contract = {}, height = {}, accounts = {}", contractName, height, copy.size());
+            } catch (IOException e) {
+                log.error("write projection snapshot failed, contract = {}", contractName, e);
+            }
+            verify(copy);
+        });
+    }
+
+    /**
+     * 抽样核对快照中的账户与链上余额。查询前后链高度相同时记下该高度H的链上余额，
+     * 交给事件线程在收到第一个高于H的事件时与表中余额比较，此时表恰好是H的状态；
+     * 登记时表中已有高于H的事件则无法比较，丢弃。差异连续两次出现且差值相同才修正。
+     */
+    private void verify(Map<Address160, BigInteger> snapshot) {
+        List<Check> sampled = new ArrayList<>();
+        for (Address160 address : snapshot.keySet()) {
+            if (sampled.size() >= properties.getVerifySample()) {
+                break;
+            }
+            try {
+                long before = chainGateway.query(client -> client.getCurrentBlockHeight(RPC_CALL_TIMEOUT));
+                BigInteger onChain = queryBalance(address);
+                long after = chainGateway.query(client -> client.getCurrentBlockHeight(RPC_CALL_TIMEOUT));
+                if (before == after) {
+                    sampled.add(new Check(address, before, onChain));
+                }
+            } catch (SdkException | RuntimeException e) {
+                log.debug("verify balance failed, contract = {}, e = {}", contractName, e.getMessage());
+            }
+        }
+        executor.execute(() -> {
+            if (!live) {
+                return;
+            }
+            checks = new ArrayList<>();
+            for (Check check : sampled) {
+                if (check.height >= partialHeight) {
+                    checks.add(check);
+                }
+            }
+        });
+    }
+
+    /**
+     * 比较高度低于nextHeight的待核对余额，只在事件线程调用
+     */
+    private void resolveChecks(long nextHeight) {
+        Iterator<Check> iterator = checks.iterator();
+        while (iterator.hasNext()) {
+            Check check = iterator.next();
+            if (check.height >= nextHeight) {
+                continue;
+            }
+            iterator.remove();
+            BigInteger delta = check.onChain.subtract(table.get(check.address));
+            if (delta.signum() == 0) {
+                suspects.remove(check.address);
+            } else if (delta.equals(suspects.get(check.address))) {
+                log.warn("projection corrected, contract = {}, address = {}, delta = {}", contractName, check.address, delta);
+                table.adjust(check.address, delta);
+                suspects.remove(check.address);
+            } else {
+                suspects.put(check.address, delta);
+            }
+        }
+    }
+
+    private BigInteger queryBalance(Address160 address) throws SdkException {
+        Map<String, byte[]> params = new HashMap<>();
+        Function function = new Function(config.getBalanceMethod(), Collections.singletonList(new Address(address.toString())),
+                Collections.emptyList());
+        String methodDataStr = FunctionEncoder.encode(function);
+        String method = methodDataStr.substring(0, 10);
+        params.put("data", methodDataStr.getBytes());
+        ResultOuterClass.TxResponse response = chainGateway.query(client -> client.queryContract(contractName, method, null, params, RPC_CALL_TIMEOUT));
+        return Numeric.toBigInt(response.getContractResult().getResult().toByteArray());
+    }
+
+    private static class Check {
+
+        final Address160 address;
+        final long height;
+        final BigInteger onChain;
+
+        Check(Address160 address, long height, BigInteger onChain) {
+            this.address = address;
+            this.height = height;
+            this.onChain = onChain;
+        }
+    }
+
+    private static class LiveEvent {
+
+        final long height;
+        final String key;
+        final TransferEvent transfer;
+
+        LiveEvent(long height, String key, TransferEvent transfer) {
+            this.height = height;
+            this.key = key;
+            this.transfer = transfer;
+        }
+
+        long getHeight() {
+            return height;
+        }
+    }
+}
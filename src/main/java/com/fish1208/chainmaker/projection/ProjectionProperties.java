@@ -0,0 +1,63 @@
+package com.fish1208.chainmaker.projection;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ERC20余额投影配置
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chain-gateway.projection")
+public class ProjectionProperties {
+
+    /**
+     * 首次启用会从创世区块回放Transfer事件，默认关闭
+     */
+    private boolean enabled = false;
+
+    /**
+     * 快照目录
+     */
+    private String dir = "./projection";
+
+    /**
+     * 快照间隔(毫秒)
+     */
+    private long snapshotInterval = 60000;
+
+    /**
+     * 每次快照抽样与链上核对的地址数
+     */
+    private int verifySample = 20;
+
+    /**
+     * 订阅断开后重新同步的等待时间(毫秒)
+     */
+    private long resyncDelay = 3000;
+
+    private List<Contract> contracts = new ArrayList<>();
+
+    @Data
+    public static class Contract {
+
+        /**
+         * 合约名
+         */
+        private String name;
+
+        /**
+         * 是否需要Utils.calcContractName计算链上合约名(EvmContractController部署的合约)
+         */
+        private boolean hashName;
+
+        /**
+         * 核对余额时使用的查询方法
+         */
+        private String balanceMethod = "balanceOf";
+    }
+}
@@ -0,0 +1,42 @@
+package com.fish1208.chainmaker.projection;
+
+import com.fish1208.chainmaker.event.DecodedEvent;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.web3j.abi.EventEncoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Event;
+import org.web3j.abi.datatypes.generated.Uint256;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * token.sol中的 Transfer(address indexed _from, address indexed _to, uint256 _value)
+ *
+ * EVM合约事件的topic为事件签名哈希(不带0x)，eventData依次为各indexed参数的topic和data的十六进制串。
+ */
+@Getter
+@AllArgsConstructor
+public class TransferEvent {
+
+    public static final String TOPIC = EventEncoder.encode(new Event("Transfer",
+            Arrays.asList(new TypeReference<Address>(true) {}, new TypeReference<Address>(true) {},
+                    new TypeReference<Uint256>() {}))).substring(2);
+
+    private final Address160 from;
+    private final Address160 to;
+    private final BigInteger value;
+
+    /**
+     * @param event EventDecoders的解码结果
+     * @return 不是Transfer事件时返回null
+     */
+    public static TransferEvent of(DecodedEvent event) {
+        if (event == null || !TOPIC.equals(event.getDefinition().getTopic())) {
+            return null;
+        }
+        return new TransferEvent(event.getAddress(0), event.getAddress(1), event.getInteger(2));
+    }
+}
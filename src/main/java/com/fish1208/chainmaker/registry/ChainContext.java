@@ -0,0 +1,24 @@
+package com.fish1208.chainmaker.registry;
+
+/**
+ * 当前请求的目标链ID，未设置时使用默认链
+ */
+public final class ChainContext {
+
+    private static final ThreadLocal<String> CHAIN_ID = new ThreadLocal<>();
+
+    private ChainContext() {
+    }
+
+    public static String get() {
+        return CHAIN_ID.get();
+    }
+
+    public static void set(String chainId) {
+        CHAIN_ID.set(chainId);
+    }
+
+    public static void clear() {
+        CHAIN_ID.remove();
+    }
+}
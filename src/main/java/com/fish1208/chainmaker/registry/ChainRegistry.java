@@ -0,0 +1,105 @@
+package com.fish1208.chainmaker.registry;
+
+import com.fish1208.chainmaker.config.ChainSDKConfig;
+import com.fish1208.common.exception.UnknownChainException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.chainmaker.sdk.ChainClient;
+import org.chainmaker.sdk.ChainManager;
+import org.chainmaker.sdk.SdkException;
+import org.chainmaker.sdk.config.SdkConfig;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 多链客户端注册表，按链ID懒加载ChainClient，同一链只创建一次
+ *
+ * ChainManager按链ID缓存客户端，这里再保存一份引用避免每次加锁查找。
+ */
+@Slf4j
+@Component
+public class ChainRegistry implements InitializingBean {
+
+    @Autowired
+    private ChainClient chainClient;
+
+    @Autowired
+    private ChainSDKConfig chainSDKConfig;
+
+    @Autowired
+    private ChainRegistryProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, ChainClient> clients = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterPropertiesSet() {
+        clients.put(chainClient.getChainId(), chainClient);
+        Gauge.builder("chain.registry.clients", clients, Map::size).register(meterRegistry);
+    }
+
+    public String getDefaultChainId() {
+        return chainClient.getChainId();
+    }
+
+    public boolean contains(String chainId) {
+        return clients.containsKey(chainId) || properties.getChains().containsKey(chainId);
+    }
+
+    public boolean isDefault(String chainId) {
+        return chainId == null || chainId.equals(chainClient.getChainId());
+    }
+
+    /**
+     * @param chainId 为null时返回默认链客户端
+     */
+    public ChainClient getChainClient(String chainId) throws SdkException {
+        if (isDefault(chainId)) {
+            return chainClient;
+        }
+        ChainClient client = clients.get(chainId);
+        if (client != null) {
+            return client;
+        }
+        Resource configPath = properties.getChains().get(chainId);
+        if (configPath == null) {
+            throw new UnknownChainException(chainId);
+        }
+        synchronized (this) {
+            client = clients.get(chainId);
+            if (client == null) {
+                client = create(chainId, configPath);
+                clients.put(chainId, client);
+            }
+        }
+        return client;
+    }
+
+    private ChainClient create(String chainId, Resource configPath) throws SdkException {
+        SdkConfig sdkConfig;
+        try {
+            sdkConfig = chainSDKConfig.loadSdkConfig(configPath);
+        } catch (IOException e) {
+            throw new SdkException("load sdk config failed, chainId = " + chainId + ", e = " + e.getMessage());
+        }
+        if (!chainId.equals(sdkConfig.getChain_client().getChainId())) {
+            throw new IllegalStateException("chain id mismatch, expected " + chainId + " but config is for "
+                    + sdkConfig.getChain_client().getChainId());
+        }
+        ChainClient client = ChainManager.getInstance().getChainClient(chainId);
+        if (client == null) {
+            client = ChainManager.getInstance().createChainClient(sdkConfig);
+        }
+        log.info("chain client created, chainId = {}, config = {}", chainId, configPath);
+        return client;
+    }
+}
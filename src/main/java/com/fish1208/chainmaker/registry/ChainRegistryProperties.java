@@ -0,0 +1,23 @@
+package com.fish1208.chainmaker.registry;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 多链配置，sdk-config.config-path指定的链为默认链
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chain-gateway.registry")
+public class ChainRegistryProperties {
+
+    /**
+     * 链ID到该链sdk配置文件的映射，客户端在首次访问时创建
+     */
+    private Map<String, Resource> chains = new LinkedHashMap<>();
+}
@@ -0,0 +1,62 @@
+package com.fish1208.chainmaker.registry;
+
+import com.alibaba.fastjson.JSON;
+import com.fish1208.common.response.Result;
+import com.fish1208.common.response.ResultCode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 将 /chains/{chainId}/xxx 转发到 /xxx，并在处理期间把chainId放入ChainContext
+ */
+@Component
+public class ChainRoutingFilter extends OncePerRequestFilter {
+
+    private static final String PREFIX = "/chains/";
+
+    @Autowired
+    private ChainRegistry chainRegistry;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !path(request).startsWith(PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = path(request);
+        int slash = path.indexOf('/', PREFIX.length());
+        String chainId = path.substring(PREFIX.length(), slash < 0 ? path.length() : slash);
+        if (slash < 0 || !chainRegistry.contains(chainId)) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(JSON.toJSONString(Result.fail(ResultCode.NOT_FOUND, "未配置的链: " + chainId))
+                    .getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        // 默认链不设置上下文，保证按链区分的缓存对默认链只有一份
+        if (!chainRegistry.isDefault(chainId)) {
+            ChainContext.set(chainId);
+        }
+        try {
+            request.getRequestDispatcher(path.substring(slash)).forward(request, response);
+        } finally {
+            ChainContext.clear();
+        }
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
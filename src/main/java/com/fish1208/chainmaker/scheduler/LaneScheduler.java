@@ -0,0 +1,216 @@
+package com.fish1208.chainmaker.scheduler;
+
+import com.fish1208.chainmaker.gateway.ChainCallType;
+import com.fish1208.chainmaker.limiter.ChainCallLimiter;
+import com.fish1208.common.exception.ChainOverloadException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 按调用类型分通道排队，工作线程以平滑加权轮询从各通道取任务。
+ *
+ * 每个通道有独立的有界队列和并发上限，查询风暴最多占满查询通道的并发，
+ * 剩余工作线程始终留给交互式上链和管理操作。
+ *
+ * 限流名额在任务出队时占用，限流预算用尽的通道暂停出队，任务留在队列中等待，
+ * 直到有调用结束释放名额；排队超时被取消的任务立即移出队列。
+ */
+@Slf4j
+@Component
+public class LaneScheduler implements DisposableBean {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Map<ChainCallType, Lane> lanes = new EnumMap<>(ChainCallType.class);
+    private final ChainCallLimiter limiter;
+    private final Thread[] workers;
+    private volatile boolean running = true;
+
+    public LaneScheduler(SchedulerProperties properties, ChainCallLimiter limiter, MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        lanes.put(ChainCallType.INVOKE, new Lane(ChainCallType.INVOKE, properties.getInvoke(), meterRegistry));
+        lanes.put(ChainCallType.QUERY, new Lane(ChainCallType.QUERY, properties.getQuery(), meterRegistry));
+        lanes.put(ChainCallType.MANAGE, new Lane(ChainCallType.MANAGE, properties.getManage(), meterRegistry));
+
+        workers = new Thread[properties.isEnabled() ? properties.getWorkers() : 0];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Thread(this::work, "chain-lane-" + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+    }
+
+    /**
+     * 提交任务到对应通道，通道队列已满时抛出ChainOverloadException
+     */
+    public <T> FutureTask<T> submit(ChainCallType type, PermitCallable<T> callable) {
+        Lane lane = lanes.get(type);
+        Queued queued = new Queued();
+        FutureTask<T> task = new FutureTask<>(() -> callable.call(queued.permit));
+        queued.task = task;
+        lock.lock();
+        try {
+            if (lane.queue.size() >= lane.capacity) {
+                lane.rejected.increment();
+                throw new ChainOverloadException(type);
+            }
+            lane.queue.add(queued);
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+        return task;
+    }
+
+    /**
+     * 取消仍在排队的任务并移出队列，释放通道容量
+     *
+     * @return 任务已出队开始执行时返回false
+     */
+    public boolean cancel(ChainCallType type, FutureTask<?> task) {
+        Lane lane = lanes.get(type);
+        lock.lock();
+        try {
+            if (!lane.queue.removeIf(queued -> queued.task == task)) {
+                return false;
+            }
+        } finally {
+            lock.unlock();
+        }
+        task.cancel(false);
+        return true;
+    }
+
+    private void work() {
+        while (running) {
+            Lane lane;
+            Queued queued;
+            lock.lock();
+            try {
+                for (;;) {
+                    lane = next();
+                    if (lane == null) {
+                        available.await();
+                        continue;
+                    }
+                    ChainCallLimiter.Permit permit = limiter.tryAcquire(lane.type);
+                    if (permit == null) {
+                        // 限流预算用尽，等有调用结束释放名额后再从该通道出队
+                        lane.limited = true;
+                        continue;
+                    }
+                    queued = lane.queue.poll();
+                    queued.permit = permit;
+                    lane.running++;
+                    break;
+                }
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                lane.queueWait.record(System.nanoTime() - queued.enqueuedNanos, TimeUnit.NANOSECONDS);
+                queued.task.run();
+            } finally {
+                lock.lock();
+                try {
+                    lane.running--;
+                    for (Lane each : lanes.values()) {
+                        each.limited = false;
+                    }
+                    available.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * 平滑加权轮询，只在有排队任务、未达并发上限且限流预算未用尽的通道中选择，调用方需持有锁
+     */
+    private Lane next() {
+        Lane selected = null;
+        int totalWeight = 0;
+        for (Lane lane : lanes.values()) {
+            if (lane.queue.isEmpty() || lane.running >= lane.maxConcurrency || lane.limited) {
+                continue;
+            }
+            lane.currentWeight += lane.weight;
+            totalWeight += lane.weight;
+            if (selected == null || lane.currentWeight > selected.currentWeight) {
+                selected = lane;
+            }
+        }
+        if (selected != null) {
+            selected.currentWeight -= totalWeight;
+        }
+        return selected;
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * 出队时传入已占用的限流许可
+     */
+    public interface PermitCallable<T> {
+
+        T call(ChainCallLimiter.Permit permit) throws Exception;
+    }
+
+    private static class Queued {
+
+        FutureTask<?> task;
+        volatile ChainCallLimiter.Permit permit;
+        final long enqueuedNanos = System.nanoTime();
+    }
+
+    private static class Lane {
+
+        final ChainCallType type;
+        final int weight;
+        final int capacity;
+        final int maxConcurrency;
+        final ArrayDeque<Queued> queue = new ArrayDeque<>();
+        final Counter rejected;
+        final Timer queueWait;
+        int running;
+        int currentWeight;
+        /**
+         * 限流预算用尽，在下一次调用结束前不再出队
+         */
+        boolean limited;
+
+        Lane(ChainCallType type, SchedulerProperties.Lane properties, MeterRegistry meterRegistry) {
+            this.type = type;
+            this.weight = properties.getWeight();
+            this.capacity = properties.getQueueCapacity();
+            this.maxConcurrency = properties.getMaxConcurrency();
+            String tag = type.name().toLowerCase();
+            Gauge.builder("chain.scheduler.queued", queue, ArrayDeque::size).tag("lane", tag).register(meterRegistry);
+            this.rejected = Counter.builder("chain.scheduler.rejected").tag("lane", tag).register(meterRegistry);
+            this.queueWait = Timer.builder("chain.scheduler.wait").tag("lane", tag).register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.fish1208.chainmaker.scheduler;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 链调用优先级调度配置
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chain-gateway.scheduler")
+public class SchedulerProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * 调度工作线程数
+     */
+    private int workers = 32;
+
+    /**
+     * 排队超过该时间仍未开始执行则放弃(毫秒)
+     */
+    private long queueTimeout = 3000;
+
+    /**
+     * 排队超时时调用已开始执行，再最多等待的时间(毫秒)，应不小于rpc超时加上链等待时间
+     */
+    private long callTimeout = 30000;
+
+    /**
+     * 用户转账等交互式上链
+     */
+    private Lane invoke = new Lane(6, 500, 24);
+
+    /**
+     * 看板等批量查询
+     */
+    private Lane query = new Lane(3, 1000, 16);
+
+    /**
+     * 合约部署等管理操作
+     */
+    private Lane manage = new Lane(1, 20, 2);
+
+    @Data
+    public static class Lane {
+
+        /**
+         * 加权轮询权重
+         */
+        private int weight;
+        /**
+         * 队列容量，满时快速失败
+         */
+        private int queueCapacity;
+        /**
+         * 该通道最多同时占用的工作线程数
+         */
+        private int maxConcurrency;
+
+        public Lane() {
+        }
+
+        public Lane(int weight, int queueCapacity, int maxConcurrency) {
+            this.weight = weight;
+            this.queueCapacity = queueCapacity;
+            this.maxConcurrency = maxConcurrency;
+        }
+    }
+}
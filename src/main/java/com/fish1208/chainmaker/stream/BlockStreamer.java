@@ -0,0 +1,119 @@
+package com.fish1208.chainmaker.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fish1208.chainmaker.gateway.ChainGateway;
+import com.fish1208.chainmaker.registry.ChainContext;
+import com.google.protobuf.Message;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.chainmaker.pb.common.ChainmakerBlock;
+import org.chainmaker.pb.common.ChainmakerTransaction;
+import org.chainmaker.sdk.SdkException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 按区块逐个查询并立即写出，内存中同时只有一个区块，首字节不必等整个范围查完。
+ *
+ * 单个区块的接口先写区块头，再逐条写交易和读写集，不生成整个区块的JSON。
+ * 输出在MVC的异步线程上执行，请求线程上的ChainContext需要在创建时取出。
+ */
+@Slf4j
+@Component
+public class BlockStreamer {
+
+    private static final long RPC_CALL_TIMEOUT = 10000;
+
+    private final ChainGateway chainGateway;
+    private final ObjectMapper objectMapper;
+    private final StreamProperties properties;
+
+    private final Counter blocks;
+    private final Counter aborted;
+
+    public BlockStreamer(ChainGateway chainGateway, ObjectMapper objectMapper, StreamProperties properties, MeterRegistry meterRegistry) {
+        this.chainGateway = chainGateway;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.blocks = Counter.builder("chain.stream.blocks").register(meterRegistry);
+        this.aborted = Counter.builder("chain.stream.aborted").register(meterRegistry);
+    }
+
+    /**
+     * 区块范围[from, to]，每条记录一个BlockInfo
+     */
+    public StreamingResponseBody range(long from, long to, boolean withRWSet, StreamFormat format) {
+        if (from < 0 || to < from) {
+            throw new IllegalArgumentException("invalid block range: " + from + " - " + to);
+        }
+        // 写成to - from + 1会在极大的to上溢出
+        if (to - from >= properties.getMaxBlocks()) {
+            throw new IllegalArgumentException("block range exceeds " + properties.getMaxBlocks());
+        }
+        String chainId = ChainContext.get();
+        return out -> stream(chainId, format, out, writer -> {
+            // 留出一次查询的时间，在异步请求超时前以错误记录正常结束，调用方可从该高度继续
+            long deadline = System.currentTimeMillis() + properties.getTimeout() - RPC_CALL_TIMEOUT;
+            for (long height = from; height <= to; height++) {
+                if (System.currentTimeMillis() > deadline) {
+                    aborted.increment();
+                    writer.writeError("stream timeout, resume from height " + height);
+                    return;
+                }
+                writer.write(getBlock(height, withRWSet));
+                blocks.increment();
+            }
+        });
+    }
+
+    /**
+     * 单个区块，依次输出区块头、每笔交易、每个读写集
+     */
+    public StreamingResponseBody block(long height, boolean withRWSet, StreamFormat format) {
+        if (height < 0) {
+            throw new IllegalArgumentException("invalid block height: " + height);
+        }
+        String chainId = ChainContext.get();
+        return out -> stream(chainId, format, out, writer -> {
+            ChainmakerBlock.BlockInfo blockInfo = getBlock(height, withRWSet);
+            writer.write(blockInfo.getBlock().getHeader());
+            for (ChainmakerTransaction.Transaction tx : blockInfo.getBlock().getTxsList()) {
+                writer.write(tx);
+            }
+            for (Message rwSet : blockInfo.getRwsetListList()) {
+                writer.write(rwSet);
+            }
+            blocks.increment();
+        });
+    }
+
+    private void stream(String chainId, StreamFormat format, OutputStream out, StreamBody body) throws IOException {
+        if (chainId != null) {
+            ChainContext.set(chainId);
+        }
+        RecordWriter writer = RecordWriter.create(format, objectMapper, out, properties.getFlushEvery());
+        try {
+            body.write(writer);
+            writer.flush();
+        } catch (SdkException | RuntimeException e) {
+            aborted.increment();
+            log.warn("block stream aborted, e = {}", e.getMessage());
+            writer.writeError(e.getMessage());
+        } finally {
+            ChainContext.clear();
+        }
+    }
+
+    private ChainmakerBlock.BlockInfo getBlock(long height, boolean withRWSet) throws SdkException {
+        return chainGateway.query(client -> client.getBlockByHeight(height, withRWSet, RPC_CALL_TIMEOUT));
+    }
+
+    @FunctionalInterface
+    private interface StreamBody {
+        void write(RecordWriter writer) throws IOException, SdkException;
+    }
+}
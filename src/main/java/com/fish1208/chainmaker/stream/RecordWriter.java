@@ -0,0 +1,113 @@
+package com.fish1208.chainmaker.stream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.protobuf.Message;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 把protobuf记录逐条写到响应流，JSON直接由JsonGenerator写入输出缓冲，不生成整块的JSON字符串
+ */
+abstract class RecordWriter {
+
+    private final int flushEvery;
+    private int pending;
+
+    RecordWriter(int flushEvery) {
+        this.flushEvery = Math.max(1, flushEvery);
+    }
+
+    static RecordWriter create(StreamFormat format, ObjectMapper objectMapper, OutputStream out, int flushEvery) throws IOException {
+        if (format == StreamFormat.PROTOBUF_DELIMITED) {
+            return new DelimitedWriter(out, flushEvery);
+        }
+        return new NdjsonWriter(objectMapper, out, flushEvery);
+    }
+
+    void write(Message record) throws IOException {
+        writeRecord(record);
+        if (++pending >= flushEvery) {
+            flush();
+        }
+    }
+
+    void flush() throws IOException {
+        pending = 0;
+        doFlush();
+    }
+
+    /**
+     * 输出中途失败时，状态码已经发出，只能在流中标记错误
+     */
+    abstract void writeError(String message) throws IOException;
+
+    abstract void writeRecord(Message record) throws IOException;
+
+    abstract void doFlush() throws IOException;
+
+    private static class NdjsonWriter extends RecordWriter {
+
+        private final ObjectWriter objectWriter;
+        private final JsonGenerator generator;
+
+        NdjsonWriter(ObjectMapper objectMapper, OutputStream out, int flushEvery) throws IOException {
+            super(flushEvery);
+            // flush由flushEvery控制
+            this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // 记录之间用换行分隔，而不是默认的空格
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        void writeRecord(Message record) throws IOException {
+            objectWriter.writeValue(generator, record);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        void writeError(String message) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("error", message);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            generator.flush();
+        }
+
+        @Override
+        void doFlush() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static class DelimitedWriter extends RecordWriter {
+
+        private final OutputStream out;
+
+        DelimitedWriter(OutputStream out, int flushEvery) {
+            super(flushEvery);
+            this.out = out;
+        }
+
+        @Override
+        void writeRecord(Message record) throws IOException {
+            record.writeDelimitedTo(out);
+        }
+
+        @Override
+        void writeError(String message) throws IOException {
+            // protobuf流没有可区分的错误记录，中断连接让客户端读到不完整的流
+            throw new IOException(message);
+        }
+
+        @Override
+        void doFlush() throws IOException {
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.fish1208.chainmaker.stream;
+
+import org.springframework.http.MediaType;
+
+import java.util.Collections;
+
+/**
+ * 流式输出格式，按Accept头选择，默认NDJSON
+ */
+public enum StreamFormat {
+
+    /**
+     * 每行一个JSON对象
+     */
+    NDJSON(new MediaType("application", "x-ndjson")),
+
+    /**
+     * 每条记录前加varint长度的protobuf，即writeDelimitedTo/parseDelimitedFrom的格式
+     */
+    PROTOBUF_DELIMITED(new MediaType("application", "x-protobuf", Collections.singletonMap("delimited", "true")));
+
+    private final MediaType mediaType;
+
+    StreamFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static StreamFormat fromAccept(String accept) {
+        if (accept != null && accept.contains("application/x-protobuf")) {
+            return PROTOBUF_DELIMITED;
+        }
+        return NDJSON;
+    }
+}
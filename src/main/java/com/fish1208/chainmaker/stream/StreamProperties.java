@@ -0,0 +1,29 @@
+package com.fish1208.chainmaker.stream;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 区块流式输出配置
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chain-gateway.stream")
+public class StreamProperties {
+
+    /**
+     * 单次请求最多输出的区块数
+     */
+    private int maxBlocks = 1000;
+
+    /**
+     * 输出多少条记录后flush一次，1表示每条记录立即发送
+     */
+    private int flushEvery = 1;
+
+    /**
+     * 单次流式输出的最长时间(毫秒)，也是MVC异步请求超时(spring.mvc.async.request-timeout)
+     */
+    private long timeout = 600000;
+}
@@ -0,0 +1,36 @@
+package com.fish1208.chainmaker.warmup;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 启动预热配置
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chain-gateway.warmup")
+public class WarmUpProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * 每个节点并发发起的查询数，使连接池中的各条连接都完成TLS握手，与sdk_config中conn_cnt一致
+     */
+    private int channelCalls = 10;
+
+    /**
+     * 是否同时预热注册表中配置的其它链
+     */
+    private boolean allChains = false;
+
+    /**
+     * 本地热点路径(编解码、签名、序列化)的循环次数，用于触发JIT编译
+     */
+    private int jitIterations = 20000;
+
+    /**
+     * 单个阶段最长等待时间(毫秒)，超时后继续下一阶段
+     */
+    private long phaseTimeout = 30000;
+}
@@ -0,0 +1,215 @@
+package com.fish1208.chainmaker.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fish1208.chainmaker.contract.AbiResults;
+import com.fish1208.chainmaker.contract.Calldata;
+import com.fish1208.chainmaker.contract.TokenContract;
+import com.fish1208.chainmaker.event.EventDecoders;
+import com.fish1208.chainmaker.node.NodeClient;
+import com.fish1208.chainmaker.node.NodeClientPool;
+import com.fish1208.chainmaker.projection.Address160;
+import com.fish1208.chainmaker.projection.TransferEvent;
+import com.fish1208.chainmaker.registry.ChainRegistry;
+import com.fish1208.chainmaker.registry.ChainRegistryProperties;
+import com.fish1208.common.response.Result;
+import com.google.protobuf.ByteString;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.chainmaker.pb.common.Request;
+import org.chainmaker.pb.common.ResultOuterClass;
+import org.chainmaker.sdk.ChainClient;
+import org.chainmaker.sdk.User;
+import org.chainmaker.sdk.utils.CryptoUtils;
+import org.chainmaker.sdk.utils.SdkUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Function;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 启动预热：建立到各节点的连接、解析证书、预编码常用调用并让热点路径完成JIT编译
+ *
+ * Spring Boot在所有ApplicationRunner执行完后才把就绪状态切换为ACCEPTING_TRAFFIC，
+ * 预热同步执行，/actuator/health/readiness在预热结束前保持不可用，负载均衡不会把流量导过来。
+ */
+@Slf4j
+@Component
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final String SAMPLE_ADDRESS = "0xa1b2c3d4e5f60718293a4b5c6d7e8f9012345678";
+
+    @Autowired
+    private WarmUpProperties properties;
+
+    @Autowired
+    private NodeClientPool nodeClientPool;
+
+    @Autowired
+    private ChainRegistry chainRegistry;
+
+    @Autowired
+    private ChainRegistryProperties chainRegistryProperties;
+
+    @Autowired
+    private EventDecoders eventDecoders;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("adminUser1")
+    private User adminUser1;
+
+    @Autowired
+    @Qualifier("adminUser2")
+    private User adminUser2;
+
+    @Autowired
+    @Qualifier("adminUser3")
+    private User adminUser3;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        phase("channels", this::warmChannels);
+        phase("credentials", this::warmCredentials);
+        phase("abi", this::warmAbi);
+        phase("jit", this::warmJit);
+        long elapsed = System.nanoTime() - start;
+        Timer.builder("chain.warmup.total").register(meterRegistry).record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("warm up finished, cost = {}ms", TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    private void phase(String name, WarmUpPhase phase) {
+        long start = System.nanoTime();
+        try {
+            phase.run();
+        } catch (Exception e) {
+            // 预热失败不影响启动，首个请求会按原路径建立连接
+            log.warn("warm up phase failed, phase = {}, e = {}", name, e.getMessage());
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            Timer.builder("chain.warmup.phase").tag("phase", name).register(meterRegistry).record(elapsed, TimeUnit.NANOSECONDS);
+            log.info("warm up phase done, phase = {}, cost = {}ms", name, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+    }
+
+    /**
+     * 每个节点并发查询区块高度，建立连接池中的连接并完成TLS握手，同时为对冲延迟积累初始样本
+     */
+    private void warmChannels() throws Exception {
+        List<ChainClient> clients = new ArrayList<>();
+        List<NodeClient> nodes = nodeClientPool.getNodes();
+        for (NodeClient node : nodes) {
+            clients.add(node.getChainClient());
+        }
+        if (properties.isAllChains()) {
+            for (String chainId : chainRegistryProperties.getChains().keySet()) {
+                clients.add(chainRegistry.getChainClient(chainId));
+            }
+        }
+
+        int calls = Math.max(1, properties.getChannelCalls());
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(64, calls * clients.size())));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < clients.size(); i++) {
+                ChainClient client = clients.get(i);
+                NodeClient node = i < nodes.size() ? nodes.get(i) : null;
+                for (int j = 0; j < calls; j++) {
+                    futures.add(executor.submit(() -> {
+                        long begin = System.nanoTime();
+                        client.getCurrentBlockHeight(properties.getPhaseTimeout());
+                        if (node != null) {
+                            node.getLatency().record(System.nanoTime() - begin);
+                        }
+                        return null;
+                    }));
+                }
+            }
+            long deadline = System.currentTimeMillis() + properties.getPhaseTimeout();
+            for (Future<?> future : futures) {
+                future.get(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 证书地址计算和背书签名都会首次加载BouncyCastle的算法实现
+     */
+    private void warmCredentials() throws Exception {
+        User[] users = {adminUser1, adminUser2, adminUser3};
+        for (User user : users) {
+            CryptoUtils.makeAddrFromCert(user.getTlsCertificate());
+        }
+        Request.Payload payload = Request.Payload.newBuilder()
+                .setChainId(chainRegistry.getDefaultChainId())
+                .setTxId("warmup")
+                .setTimestamp(System.currentTimeMillis() / 1000)
+                .build();
+        SdkUtils.getEndorsers(payload, users);
+    }
+
+    private void warmAbi() {
+        FunctionEncoder.encode(new Function("balanceOfOwner", Collections.singletonList(new Address(SAMPLE_ADDRESS)), Collections.emptyList()));
+        TokenContract.encodeTransfer(SAMPLE_ADDRESS, BigInteger.ONE).toBytes();
+        TokenContract.encodeBalanceOf(SAMPLE_ADDRESS).toBytes();
+        TokenContract.encodeApprove(SAMPLE_ADDRESS, BigInteger.ONE).toBytes();
+        TokenContract.encodeAllowance(SAMPLE_ADDRESS, SAMPLE_ADDRESS).toBytes();
+        TokenContract.encodeTransferFrom(SAMPLE_ADDRESS, SAMPLE_ADDRESS, BigInteger.ONE).toBytes();
+    }
+
+    /**
+     * 反复执行纯本地的热点路径，使其在接流量前达到C2编译
+     */
+    private void warmJit() throws Exception {
+        String word = "00000000000000000000000000000000000000000000000000000000000f4240";
+        String topic = "000000000000000000000000" + SAMPLE_ADDRESS.substring(2);
+        ResultOuterClass.ContractEventInfo event = ResultOuterClass.ContractEventInfo.newBuilder()
+                .setTopic(TransferEvent.TOPIC)
+                .addEventData(topic)
+                .addEventData(topic)
+                .addEventData(word)
+                .build();
+        ByteString result = ByteString.copyFrom(TokenContract.encodeBalanceOf(SAMPLE_ADDRESS).toRawBytes(), 4, 32);
+        long sink = 0;
+        for (int i = 0; i < properties.getJitIterations(); i++) {
+            Calldata calldata = TokenContract.encodeTransfer(SAMPLE_ADDRESS, BigInteger.valueOf(i));
+            sink += calldata.toBytes().length;
+            sink += AbiResults.uint(result).bitLength();
+            sink += eventDecoders.decode(event) != null ? 1 : 0;
+            sink += Address160.fromHex(SAMPLE_ADDRESS).hashCode();
+            // 与响应相同的ObjectMapper，预热Result和protobuf的序列化器
+            sink += objectMapper.writeValueAsBytes(Result.data(i)).length;
+            sink += objectMapper.writeValueAsBytes(Result.data(event)).length;
+        }
+        log.debug("jit warm up sink = {}", sink);
+    }
+
+    @FunctionalInterface
+    private interface WarmUpPhase {
+        void run() throws Exception;
+    }
+}
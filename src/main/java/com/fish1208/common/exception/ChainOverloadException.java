@@ -0,0 +1,20 @@
+package com.fish1208.common.exception;
+
+import com.fish1208.chainmaker.gateway.ChainCallType;
+import lombok.Getter;
+
+/**
+ * 链调用并发预算用尽时抛出，由GlobalExceptionHandler转换为429
+ */
+@Getter
+public class ChainOverloadException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ChainCallType type;
+
+    public ChainOverloadException(ChainCallType type) {
+        super("chain " + type.name().toLowerCase() + " budget exhausted");
+        this.type = type;
+    }
+}
@@ -0,0 +1,39 @@
+package com.fish1208.common.exception;
+
+import com.fish1208.common.response.Result;
+import com.fish1208.common.response.ResultCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 全局异常处理
+ */
+@Slf4j
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    @ExceptionHandler(ChainOverloadException.class)
+    public ResponseEntity<Result<?>> handleOverload(ChainOverloadException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(Result.fail(ResultCode.FLOW_EXCEPTION));
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Result<?>> handleRejected(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(Result.fail(ResultCode.FLOW_EXCEPTION));
+    }
+
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<Result<?>> handleIdempotencyConflict(IdempotencyConflictException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Result.fail(ResultCode.FAILURE, e.getMessage()));
+    }
+
+    @ExceptionHandler(UnknownChainException.class)
+    public ResponseEntity<Result<?>> handleUnknownChain(UnknownChainException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Result.fail(ResultCode.NOT_FOUND, e.getMessage()));
+    }
+}
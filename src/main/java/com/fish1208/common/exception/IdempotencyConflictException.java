@@ -0,0 +1,13 @@
+package com.fish1208.common.exception;
+
+/**
+ * 同一幂等键携带了不同的请求内容
+ */
+public class IdempotencyConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public IdempotencyConflictException(String key) {
+        super("idempotency key reused with different request: " + key);
+    }
+}
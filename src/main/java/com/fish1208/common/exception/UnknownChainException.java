@@ -0,0 +1,13 @@
+package com.fish1208.common.exception;
+
+/**
+ * 请求的链ID未在注册表中配置
+ */
+public class UnknownChainException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public UnknownChainException(String chainId) {
+        super("unknown chain: " + chainId);
+    }
+}
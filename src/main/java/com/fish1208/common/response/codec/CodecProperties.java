@@ -0,0 +1,24 @@
+package com.fish1208.common.response.codec;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 二进制响应格式配置，客户端通过Accept头选择，不带时仍返回JSON
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chain-gateway.codec")
+public class CodecProperties {
+
+    /**
+     * 支持Accept: application/x-protobuf，protobuf类型的data直接按SDK的消息编码
+     */
+    private boolean protobuf = true;
+
+    /**
+     * 支持Accept: application/cbor，结构与JSON相同，bytes字段为原始二进制
+     */
+    private boolean cbor = true;
+}
@@ -0,0 +1,103 @@
+package com.fish1208.common.response.codec;
+
+import com.fish1208.common.response.Result;
+import com.fish1208.common.response.json.Utf8Text;
+import com.google.protobuf.BoolValue;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.BytesValue;
+import com.google.protobuf.Int64Value;
+import com.google.protobuf.Message;
+import com.google.protobuf.StringValue;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Accept: application/x-protobuf时，响应体为data本身的protobuf编码，Result的code和msg放在响应头。
+ *
+ * data是SDK的消息(TxResponse、BlockInfo、BlockHeader等)时直接writeTo输出流，不经过JSON；
+ * 数值、字符串等标量用google.protobuf的包装类型，消息类型名与Spring的ProtobufHttpMessageConverter一样放在X-Protobuf-Message头。
+ * 其它类型无法用protobuf表示，按不可写处理。
+ */
+@SuppressWarnings("rawtypes")
+public class ProtobufResultHttpMessageConverter extends AbstractHttpMessageConverter<Result> {
+
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+    public static final String CODE_HEADER = "X-Result-Code";
+    public static final String MSG_HEADER = "X-Result-Msg";
+    public static final String MESSAGE_HEADER = "X-Protobuf-Message";
+
+    public ProtobufResultHttpMessageConverter() {
+        super(PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Result.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Result readInternal(Class<? extends Result> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("protobuf request body is not supported", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Result result, HttpOutputMessage outputMessage) throws IOException {
+        Message message = toMessage(result.getData());
+        HttpHeaders headers = outputMessage.getHeaders();
+        headers.set(CODE_HEADER, String.valueOf(result.getCode()));
+        if (result.getMsg() != null) {
+            // 响应头只能是ISO-8859-1，中文消息按URL编码
+            headers.set(MSG_HEADER, URLEncoder.encode(result.getMsg(), StandardCharsets.UTF_8.name()));
+        }
+        if (message == null) {
+            return;
+        }
+        headers.set(MESSAGE_HEADER, message.getDescriptorForType().getFullName());
+        message.writeTo(outputMessage.getBody());
+    }
+
+    @Override
+    protected Long getContentLength(Result result, MediaType contentType) {
+        Message message = toMessage(result.getData());
+        return message == null ? 0L : (long) message.getSerializedSize();
+    }
+
+    private static Message toMessage(Object data) {
+        if (data == null || data instanceof Message) {
+            return (Message) data;
+        }
+        if (data instanceof ByteString) {
+            return BytesValue.newBuilder().setValue((ByteString) data).build();
+        }
+        if (data instanceof Utf8Text) {
+            return StringValue.newBuilder().setValueBytes(((Utf8Text) data).getBytes()).build();
+        }
+        if (data instanceof Integer || data instanceof Long) {
+            return Int64Value.newBuilder().setValue(((Number) data).longValue()).build();
+        }
+        if (data instanceof Boolean) {
+            return BoolValue.newBuilder().setValue((Boolean) data).build();
+        }
+        // 余额等大整数超出int64，按十进制字符串传输
+        if (data instanceof String || data instanceof BigInteger || data instanceof Enum) {
+            return StringValue.newBuilder().setValue(data.toString()).build();
+        }
+        throw new HttpMessageNotWritableException("data of type " + data.getClass().getName() + " has no protobuf form");
+    }
+}
@@ -0,0 +1,38 @@
+package com.fish1208.common.response.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fish1208.common.response.json.ResponseJsonModule;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * 注册二进制响应格式。追加在JSON之后，Accept未指定或为通配时仍按JSON返回
+ */
+@Configuration
+public class ResponseCodecConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private CodecProperties properties;
+
+    @Autowired
+    private ResponseJsonModule responseJsonModule;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // classpath上有jackson-dataformat-cbor时Spring会自动加一个不带ResponseJsonModule的CBOR转换器，替换掉
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter);
+        if (properties.isProtobuf()) {
+            converters.add(new ProtobufResultHttpMessageConverter());
+        }
+        if (properties.isCbor()) {
+            ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor().modules(responseJsonModule).build();
+            converters.add(new MappingJackson2CborHttpMessageConverter(cborMapper));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.fish1208.common.response.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.google.protobuf.ByteString;
+
+import java.io.IOException;
+
+/**
+ * 二进制内容(哈希、签名、合约原始返回值)在JSON中写为十六进制字符串，文本内容用Utf8Text包装
+ */
+public class ByteStringSerializer extends StdSerializer<ByteString> {
+
+    public ByteStringSerializer() {
+        super(ByteString.class);
+    }
+
+    @Override
+    public void serialize(ByteString value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        HexWriter.write(value, gen);
+    }
+}
@@ -0,0 +1,33 @@
+package com.fish1208.common.response.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.google.protobuf.ByteString;
+
+import java.io.IOException;
+
+/**
+ * 把ByteString按十六进制写为JSON字符串，逐字节编码到char数组，不经过中间String。
+ * CBOR等支持二进制的格式直接写原始字节
+ */
+final class HexWriter {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private HexWriter() {
+    }
+
+    static void write(ByteString bytes, JsonGenerator gen) throws IOException {
+        if (gen.canWriteBinaryNatively()) {
+            gen.writeBinary(bytes.toByteArray());
+            return;
+        }
+        int size = bytes.size();
+        char[] chars = new char[size * 2];
+        for (int i = 0; i < size; i++) {
+            int b = bytes.byteAt(i) & 0xff;
+            chars[i * 2] = HEX[b >>> 4];
+            chars[i * 2 + 1] = HEX[b & 0x0f];
+        }
+        gen.writeString(chars, 0, chars.length);
+    }
+}
@@ -0,0 +1,93 @@
+package com.fish1208.common.response.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.MapEntry;
+import com.google.protobuf.MessageOrBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按descriptor把protobuf消息(区块头、交易回执等)直接写入JsonGenerator。
+ *
+ * 字段名用jsonName，省略默认值，bytes写为十六进制，与JsonFormat不同的是64位整数写为数字而不是字符串，
+ * 和其它接口返回的高度、时间戳保持一致。
+ */
+public class ProtobufMessageSerializer extends StdSerializer<MessageOrBuilder> {
+
+    public ProtobufMessageSerializer() {
+        super(MessageOrBuilder.class);
+    }
+
+    @Override
+    public void serialize(MessageOrBuilder value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        writeMessage(value, gen);
+    }
+
+    private static void writeMessage(MessageOrBuilder message, JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        for (Map.Entry<Descriptors.FieldDescriptor, Object> entry : message.getAllFields().entrySet()) {
+            Descriptors.FieldDescriptor field = entry.getKey();
+            gen.writeFieldName(field.getJsonName());
+            if (field.isMapField()) {
+                writeMap(field, (List<?>) entry.getValue(), gen);
+            } else if (field.isRepeated()) {
+                gen.writeStartArray();
+                for (Object element : (List<?>) entry.getValue()) {
+                    writeValue(field, element, gen);
+                }
+                gen.writeEndArray();
+            } else {
+                writeValue(field, entry.getValue(), gen);
+            }
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeMap(Descriptors.FieldDescriptor field, List<?> entries, JsonGenerator gen) throws IOException {
+        Descriptors.FieldDescriptor valueField = field.getMessageType().findFieldByName("value");
+        gen.writeStartObject();
+        for (Object element : entries) {
+            MapEntry<?, ?> mapEntry = (MapEntry<?, ?>) element;
+            gen.writeFieldName(String.valueOf(mapEntry.getKey()));
+            writeValue(valueField, mapEntry.getValue(), gen);
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeValue(Descriptors.FieldDescriptor field, Object value, JsonGenerator gen) throws IOException {
+        switch (field.getJavaType()) {
+            case MESSAGE:
+                writeMessage((MessageOrBuilder) value, gen);
+                break;
+            case ENUM:
+                gen.writeString(((Descriptors.EnumValueDescriptor) value).getName());
+                break;
+            case BYTE_STRING:
+                HexWriter.write((ByteString) value, gen);
+                break;
+            case INT:
+                gen.writeNumber((Integer) value);
+                break;
+            case LONG:
+                gen.writeNumber((Long) value);
+                break;
+            case FLOAT:
+                gen.writeNumber((Float) value);
+                break;
+            case DOUBLE:
+                gen.writeNumber((Double) value);
+                break;
+            case BOOLEAN:
+                gen.writeBoolean((Boolean) value);
+                break;
+            default:
+                gen.writeString((String) value);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.fish1208.common.response.json;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fish1208.common.response.Result;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.MessageOrBuilder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 响应序列化模块，Spring Boot会把Module类型的bean注册到全局ObjectMapper
+ */
+@Component
+public class ResponseJsonModule extends SimpleModule {
+
+    public ResponseJsonModule() {
+        super("ResponseJsonModule");
+        addSerializer(Result.class, new ResultSerializer());
+        addSerializer(ByteString.class, new ByteStringSerializer());
+        addSerializer(MessageOrBuilder.class, new ProtobufMessageSerializer());
+    }
+}
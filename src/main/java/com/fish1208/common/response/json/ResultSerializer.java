@@ -0,0 +1,44 @@
+package com.fish1208.common.response.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fish1208.common.response.Result;
+
+import java.io.IOException;
+
+/**
+ * Result固定四个字段，直接按字段写出，不走反射的BeanSerializer。字段顺序和名称与原来一致
+ */
+@SuppressWarnings("rawtypes")
+public class ResultSerializer extends StdSerializer<Result> {
+
+    private static final SerializedString CODE = new SerializedString("code");
+    private static final SerializedString SUCCESS = new SerializedString("success");
+    private static final SerializedString MSG = new SerializedString("msg");
+    private static final SerializedString DATA = new SerializedString("data");
+
+    public ResultSerializer() {
+        super(Result.class);
+    }
+
+    @Override
+    public void serialize(Result value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName(CODE);
+        gen.writeNumber(value.getCode());
+        gen.writeFieldName(SUCCESS);
+        gen.writeBoolean(value.isSuccess());
+        gen.writeFieldName(MSG);
+        if (value.getMsg() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value.getMsg());
+        }
+        gen.writeFieldName(DATA);
+        // data的序列化器由provider按类型缓存，ByteString和protobuf消息走本包的序列化器
+        provider.defaultSerializeValue(value.getData(), gen);
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,54 @@
+package com.fish1208.common.response.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.google.protobuf.ByteString;
+
+import java.io.IOException;
+
+/**
+ * 合约返回的UTF-8文本，序列化时直接把字节写入响应，不先解码成String再编码回UTF-8
+ */
+@JsonSerialize(using = Utf8Text.Serializer.class)
+public final class Utf8Text {
+
+    private final ByteString bytes;
+
+    private Utf8Text(ByteString bytes) {
+        this.bytes = bytes;
+    }
+
+    public static Utf8Text of(ByteString bytes) {
+        return new Utf8Text(bytes);
+    }
+
+    public ByteString getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return bytes.toStringUtf8();
+    }
+
+    public static class Serializer extends StdSerializer<Utf8Text> {
+
+        public Serializer() {
+            super(Utf8Text.class);
+        }
+
+        @Override
+        public void serialize(Utf8Text value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            ByteString bytes = value.bytes;
+            if (!bytes.isValidUtf8()) {
+                // 非法UTF-8直接写出会得到不合法的JSON，按二进制处理
+                HexWriter.write(bytes, gen);
+                return;
+            }
+            byte[] utf8 = bytes.toByteArray();
+            gen.writeUTF8String(utf8, 0, utf8.length);
+        }
+    }
+}
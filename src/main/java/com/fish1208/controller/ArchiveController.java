@@ -0,0 +1,58 @@
+package com.fish1208.controller;
+
+import com.fish1208.chainmaker.archive.RestoreService;
+import com.fish1208.chainmaker.registry.ChainContext;
+import com.fish1208.common.response.Result;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 归档控制器
+ */
+@Slf4j
+@RestController
+@RequestMapping("/archive")
+public class ArchiveController {
+
+    @Autowired
+    private RestoreService restoreService;
+
+    /**
+     * 后台恢复[from, to]的归档区块，立即返回任务进度
+     */
+    @PostMapping(value = "/restore")
+    public Result<?> restore(@RequestParam long from, @RequestParam long to) throws Exception {
+        if (ChainContext.get() != null) {
+            return Result.fail("归档恢复只支持默认链");
+        }
+        try {
+            return Result.data(restoreService.start(from, to));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return Result.fail(e.getMessage());
+        }
+    }
+
+    @GetMapping(value = "/restore")
+    public Result<?> restoreStatus() {
+        return Result.data(restoreService.getJob());
+    }
+
+    /**
+     * 清除已结束的恢复任务，之后恢复的区块重新参与归档
+     */
+    @DeleteMapping(value = "/restore")
+    public Result<?> clearRestore() throws Exception {
+        try {
+            restoreService.clear();
+            return Result.success("恢复任务已清除");
+        } catch (IllegalStateException e) {
+            return Result.fail(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.fish1208.controller;
+
+import com.fish1208.chainmaker.stream.BlockStreamer;
+import com.fish1208.chainmaker.stream.StreamFormat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * 区块流式输出控制器，默认NDJSON，Accept: application/x-protobuf时为长度前缀的protobuf
+ */
+@RestController
+@RequestMapping("/chain/stream")
+public class BlockStreamController {
+
+    @Autowired
+    private BlockStreamer blockStreamer;
+
+    @GetMapping(value = "/blocks")
+    public ResponseEntity<StreamingResponseBody> blocks(@RequestParam long from, @RequestParam long to,
+                                                        @RequestParam(defaultValue = "false") boolean withRWSet,
+                                                        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        StreamFormat format = StreamFormat.fromAccept(accept);
+        try {
+            return ResponseEntity.ok().contentType(format.getMediaType()).body(blockStreamer.range(from, to, withRWSet, format));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @GetMapping(value = "/block")
+    public ResponseEntity<StreamingResponseBody> block(@RequestParam long blockHeight,
+                                                       @RequestParam(defaultValue = "true") boolean withRWSet,
+                                                       @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        StreamFormat format = StreamFormat.fromAccept(accept);
+        try {
+            return ResponseEntity.ok().contentType(format.getMediaType()).body(blockStreamer.block(blockHeight, withRWSet, format));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -1,18 +1,27 @@
 package com.fish1208.controller;
 
+import com.fish1208.chainmaker.chainconfig.ChainConfigCache;
+import com.fish1208.chainmaker.chainconfig.ChainConfigChange;
+import com.fish1208.chainmaker.chainconfig.ChainConfigUpdater;
+import com.fish1208.chainmaker.chainconfig.ChainConfigs;
 import com.fish1208.chainmaker.entity.BlockEntity;
+import com.fish1208.chainmaker.gateway.ChainGateway;
+import com.fish1208.chainmaker.registry.ChainContext;
 import com.fish1208.common.response.Result;
 import lombok.extern.slf4j.Slf4j;
 import org.chainmaker.pb.common.ChainmakerBlock;
 import org.chainmaker.pb.config.ChainConfigOuterClass;
-import org.chainmaker.sdk.ChainClient;
 import org.chainmaker.sdk.SdkException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 /**
  *Chain控制器
  */
@@ -24,14 +33,82 @@ public class ChainController {
     private long rpcCallTimeout = 10000;
 
     @Autowired
-    private ChainClient chainClient;
+    private ChainGateway chainGateway;
+
+    @Autowired
+    private ChainConfigCache chainConfigCache;
+
+    @Autowired
+    private ChainConfigUpdater chainConfigUpdater;
 
     @GetMapping(value = "/getBlockInfo")
     public Result<?> getBlockInfo(@RequestParam Long blockHeight) throws SdkException{
 
-        ChainmakerBlock.BlockInfo blockInfo = chainClient.getBlockByHeight(blockHeight, true, rpcCallTimeout);
+        ChainmakerBlock.BlockInfo blockInfo = chainGateway.query(client -> client.getBlockByHeight(blockHeight, true, rpcCallTimeout));
         ChainmakerBlock.BlockHeader blockHeader = blockInfo.getBlock().getHeader();
         return Result.data(blockHeader.getBlockTimestamp());
     }
 
+    /**
+     * 区块头，Accept: application/x-protobuf时按BlockHeader原样编码
+     */
+    @GetMapping(value = "/getBlockHeader")
+    public Result<?> getBlockHeader(@RequestParam Long blockHeight) throws SdkException {
+        ChainmakerBlock.BlockInfo blockInfo = chainGateway.query(client -> client.getBlockByHeight(blockHeight, false, rpcCallTimeout));
+        return Result.data(blockInfo.getBlock().getHeader());
+    }
+
+    /**
+     * 完整区块，Accept: application/x-protobuf时按BlockInfo原样编码
+     */
+    @GetMapping(value = "/getBlock")
+    public Result<?> getBlock(@RequestParam Long blockHeight, @RequestParam(defaultValue = "false") boolean withRWSet) throws SdkException {
+        return Result.data(chainGateway.query(client -> client.getBlockByHeight(blockHeight, withRWSet, rpcCallTimeout)));
+    }
+
+    @GetMapping(value = "/getChainConfig")
+    public Result<?> getChainConfig() throws SdkException {
+        return Result.data(chainConfig());
+    }
+
+    @GetMapping(value = "/getTrustRoots")
+    public Result<?> getTrustRoots(@RequestParam(required = false) String orgId) throws SdkException {
+        return Result.data(ChainConfigs.trustRoots(chainConfig(), orgId));
+    }
+
+    @GetMapping(value = "/getPermission")
+    public Result<?> getPermission(@RequestParam String resourceName) throws SdkException {
+        return Result.data(ChainConfigs.permission(chainConfig(), resourceName));
+    }
+
+    @GetMapping(value = "/getConsensusOrg")
+    public Result<?> getConsensusOrg(@RequestParam String orgId) throws SdkException {
+        return Result.data(ChainConfigs.consensusOrg(chainConfig(), orgId));
+    }
+
+    /**
+     * 批量链配置变更，整批校验通过后并行背书、按序号连续提交
+     */
+    @PostMapping(value = "/updateChainConfig")
+    public Result<?> updateChainConfig(@RequestBody List<ChainConfigChange> changes) throws SdkException {
+        if (ChainContext.get() != null) {
+            return Result.fail("批量链配置变更只支持默认链");
+        }
+        try {
+            return Result.data(chainConfigUpdater.apply(changes));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return Result.fail(e.getMessage());
+        }
+    }
+
+    /**
+     * 默认链读缓存，其它链直接查询
+     */
+    private ChainConfigOuterClass.ChainConfig chainConfig() throws SdkException {
+        if (ChainContext.get() == null) {
+            return chainConfigCache.get();
+        }
+        return chainGateway.query(client -> client.getChainConfig(rpcCallTimeout));
+    }
+
 }
@@ -1,14 +1,17 @@
 package com.fish1208.controller;
 
 import com.fish1208.bean.HelloWorld;
+import com.fish1208.chainmaker.deploy.ContractDeployer;
+import com.fish1208.chainmaker.gateway.ChainGateway;
 import com.fish1208.common.response.Result;
+import com.fish1208.common.response.json.Utf8Text;
 import lombok.extern.slf4j.Slf4j;
 import org.chainmaker.pb.common.ResultOuterClass;
-import org.chainmaker.sdk.ChainClient;
 import org.chainmaker.sdk.SdkException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -26,7 +29,21 @@ public class HelloWorldController {
     private static final String CONTRACT_NAME = "helloworld";
 
     @Autowired
-    private ChainClient chainClient;
+    private ChainGateway chainGateway;
+
+    @Autowired
+    private ContractDeployer contractDeployer;
+
+    @GetMapping(value = "/create")
+    public Result<?> create() {
+        try {
+            ResultOuterClass.TxResponse responseInfo = contractDeployer.deploy(CONTRACT_NAME, CONTRACT_NAME, Collections.emptyMap());
+            return Result.data(responseInfo.getCode());
+        } catch (SdkException | IllegalArgumentException e) {
+            log.error("create is fail, e = {}", e.getMessage());
+        }
+        return Result.fail("helloworld合约部署失败！");
+    }
 
     @PostMapping(value = "/set")
     public Result<?> set(@RequestBody HelloWorld hello) {
@@ -37,7 +54,7 @@ public class HelloWorldController {
 
         ResultOuterClass.TxResponse responseInfo = null;
         try {
-            responseInfo = chainClient.invokeContract(CONTRACT_NAME, method, null, params, rpcCallTimeout, syncResultTimeout);
+            responseInfo = chainGateway.invoke(client -> client.invokeContract(CONTRACT_NAME, method, null, params, rpcCallTimeout, syncResultTimeout));
             return Result.data(responseInfo.getCode());
         } catch (SdkException e) {
             log.error("set is fail, e = {}",e);
@@ -51,11 +68,11 @@ public class HelloWorldController {
         String method = "get";
         ResultOuterClass.TxResponse responseInfo = null;
         try {
-            responseInfo = chainClient.queryContract(CONTRACT_NAME, method, null, null, rpcCallTimeout);
+            responseInfo = chainGateway.query(client -> client.queryContract(CONTRACT_NAME, method, null, null, rpcCallTimeout));
         } catch (SdkException e) {
             e.printStackTrace();
         }
-        return Result.data(responseInfo.getContractResult().getResult().toString());
+        return Result.data(Utf8Text.of(responseInfo.getContractResult().getResult()));
     }
 
 }
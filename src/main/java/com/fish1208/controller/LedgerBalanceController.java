@@ -1,9 +1,13 @@
 package com.fish1208.controller;
 
+import com.fish1208.chainmaker.contract.AbiResults;
+import com.fish1208.chainmaker.contract.Calldata;
+import com.fish1208.chainmaker.contract.CalldataProperties;
+import com.fish1208.chainmaker.contract.ContractClient;
+import com.fish1208.chainmaker.gateway.ChainGateway;
 import com.fish1208.common.response.Result;
 import lombok.extern.slf4j.Slf4j;
 import org.chainmaker.pb.common.ResultOuterClass;
-import org.chainmaker.sdk.ChainClient;
 import org.chainmaker.sdk.SdkException;
 import org.chainmaker.sdk.utils.CryptoUtils;
 import org.chainmaker.sdk.utils.Utils;
@@ -12,17 +16,9 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.web3j.abi.FunctionEncoder;
-import org.web3j.abi.datatypes.Address;
-import org.web3j.abi.datatypes.Function;
-import org.web3j.abi.datatypes.generated.Uint256;
-import org.web3j.utils.Numeric;
 
 import java.io.IOException;
 import java.math.BigInteger;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 
 @Slf4j
@@ -34,25 +30,43 @@ public class LedgerBalanceController {
     private static long syncResultTimeout = 10000;
 
     private static final String CONTRACT_NAME = "balance001";
-    private static final String CONTRACT_ARGS_EVM_PARAM = "data";
+
+    /**
+     * updateMyBalance(uint256)
+     */
+    private static final String UPDATE_MY_BALANCE = "0x5f27f61f";
+
+    /**
+     * transfer(address,uint256)
+     */
+    private static final String TRANSFER = "0xa9059cbb";
+
+    /**
+     * updateBalance(uint256,address)
+     */
+    private static final String UPDATE_BALANCE = "0x2e2ad001";
+
+    /**
+     * balances(address)
+     */
+    private static final String BALANCES = "0x27e235e3";
 
     @Autowired
-    private ChainClient chainClient;
+    private ChainGateway chainGateway;
+
+    @Autowired
+    private CalldataProperties calldataProperties;
 
     @GetMapping(value = "/updateMyBalance")
     public Result<?> updateMyBalance(@RequestParam Integer balance) throws IOException, SdkException{
 
-        Map<String, byte[]> params = new HashMap<>();
-
-        Function function = new Function( "updateMyBalance" , Arrays.asList(new Uint256(balance)), Collections.emptyList());
-
-        String methodDataStr = FunctionEncoder.encode(function);
-        String method = methodDataStr.substring(0,10);
-        params.put(CONTRACT_ARGS_EVM_PARAM, methodDataStr.getBytes());
+        Calldata calldata = Calldata.of(UPDATE_MY_BALANCE, 1).uint(balance);
+        String method = calldata.getMethod();
+        Map<String, byte[]> params = ContractClient.params(calldata, calldataProperties.getEncoding());
 
         ResultOuterClass.TxResponse responseInfo = null;
         try {
-            responseInfo = chainClient.invokeContract(CONTRACT_NAME, method, null, params, rpcCallTimeout, syncResultTimeout);
+            responseInfo = chainGateway.invoke(client -> client.invokeContract(CONTRACT_NAME, method, null, params, rpcCallTimeout, syncResultTimeout));
         } catch (SdkException e) {
             e.printStackTrace();
         }
@@ -62,17 +76,13 @@ public class LedgerBalanceController {
     @GetMapping(value = "/transfer")
     public Result<?> transfer(@RequestParam String to, @RequestParam Integer amount) throws IOException, SdkException{
 
-        Map<String, byte[]> params = new HashMap<>();
-        Function function = new Function( "transfer" , Arrays.asList(new Address(to), new Uint256(BigInteger.valueOf(amount))),
-                Collections.emptyList());
-
-        String methodDataStr = FunctionEncoder.encode(function);
-        String method = methodDataStr.substring(0,10);
-        params.put(CONTRACT_ARGS_EVM_PARAM, methodDataStr.getBytes());
+        Calldata calldata = Calldata.of(TRANSFER, 2).address(to).uint(BigInteger.valueOf(amount));
+        String method = calldata.getMethod();
+        Map<String, byte[]> params = ContractClient.params(calldata, calldataProperties.getEncoding());
 
         ResultOuterClass.TxResponse responseInfo = null;
         try {
-            responseInfo = chainClient.invokeContract(CONTRACT_NAME, method, null, params,rpcCallTimeout, syncResultTimeout);
+            responseInfo = chainGateway.invoke(client -> client.invokeContract(CONTRACT_NAME, method, null, params,rpcCallTimeout, syncResultTimeout));
         } catch (SdkException e) {
             e.printStackTrace();
         }
@@ -83,17 +93,13 @@ public class LedgerBalanceController {
     @GetMapping(value = "/updateBalance")
     public Result<?> updateBalance(@RequestParam Integer balance, @RequestParam String to) throws IOException, SdkException{
 
-        Map<String, byte[]> params = new HashMap<>();
-
-        Function function = new Function( "updateBalance" , Arrays.asList(new Uint256(balance), new Address(to)), Collections.emptyList());
-
-        String methodDataStr = FunctionEncoder.encode(function);
-        String method = methodDataStr.substring(0,10);
-        params.put(CONTRACT_ARGS_EVM_PARAM, methodDataStr.getBytes());
+        Calldata calldata = Calldata.of(UPDATE_BALANCE, 2).uint(balance).address(to);
+        String method = calldata.getMethod();
+        Map<String, byte[]> params = ContractClient.params(calldata, calldataProperties.getEncoding());
 
         ResultOuterClass.TxResponse responseInfo = null;
         try {
-            responseInfo = chainClient.invokeContract(CONTRACT_NAME, method, null, params, rpcCallTimeout, syncResultTimeout);
+            responseInfo = chainGateway.invoke(client -> client.invokeContract(CONTRACT_NAME, method, null, params, rpcCallTimeout, syncResultTimeout));
         } catch (SdkException e) {
             e.printStackTrace();
         }
@@ -103,21 +109,17 @@ public class LedgerBalanceController {
     @GetMapping(value = "/balances")
     public Result<?> balances( String addr) throws IOException, SdkException{
 
-        Map<String, byte[]> params = new HashMap<>();
-
-        Function function = new Function( "balances" , Arrays.asList(new Address(addr)), Collections.emptyList());
-
-        String methodDataStr = FunctionEncoder.encode(function);
-        String method = methodDataStr.substring(0,10);
-        params.put(CONTRACT_ARGS_EVM_PARAM, methodDataStr.getBytes());
+        Calldata calldata = Calldata.of(BALANCES, 1).address(addr);
+        String method = calldata.getMethod();
+        Map<String, byte[]> params = ContractClient.params(calldata, calldataProperties.getEncoding());
 
         ResultOuterClass.TxResponse responseInfo = null;
         try {
-            responseInfo = chainClient.queryContract(CONTRACT_NAME, method, null, params, rpcCallTimeout);
+            responseInfo = chainGateway.query(client -> client.queryContract(CONTRACT_NAME, method, null, params, rpcCallTimeout));
         } catch (SdkException e) {
             e.printStackTrace();
         }
-        return Result.data(Numeric.toBigInt(responseInfo.getContractResult().getResult().toByteArray()));
+        return Result.data(AbiResults.uint(responseInfo.getContractResult().getResult()));
     }
 
 }
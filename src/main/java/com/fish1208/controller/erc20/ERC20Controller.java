@@ -1,29 +1,37 @@
 package com.fish1208.controller.erc20;
 
+import cn.hutool.core.util.IdUtil;
 import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.SecureUtil;
+import com.fish1208.chainmaker.allowance.AllowanceProperties;
+import com.fish1208.chainmaker.allowance.AllowanceService;
+import com.fish1208.chainmaker.contract.AbiResults;
+import com.fish1208.chainmaker.contract.Calldata;
+import com.fish1208.chainmaker.contract.CalldataProperties;
+import com.fish1208.chainmaker.contract.ContractClient;
+import com.fish1208.chainmaker.contract.TokenContract;
+import com.fish1208.chainmaker.gateway.ChainGateway;
+import com.fish1208.chainmaker.idempotency.IdempotencyRecord;
+import com.fish1208.chainmaker.idempotency.IdempotentSubmitter;
+import com.fish1208.chainmaker.outbox.OutboxEntry;
+import com.fish1208.chainmaker.outbox.TransactionOutbox;
+import com.fish1208.chainmaker.projection.BalanceProjection;
+import com.fish1208.chainmaker.registry.ChainContext;
 import com.fish1208.common.response.Result;
 import com.fish1208.controller.erc20.input.BalanceOfOwnerRequest;
 import com.fish1208.controller.erc20.input.TransferFromRequest;
 import com.fish1208.controller.erc20.input.TransferRequest;
 import com.google.protobuf.ByteString;
 import lombok.extern.slf4j.Slf4j;
+import org.chainmaker.pb.common.ChainmakerTransaction;
 import org.chainmaker.pb.common.ResultOuterClass;
-import org.chainmaker.sdk.ChainClient;
 import org.chainmaker.sdk.SdkException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
-import org.web3j.abi.FunctionEncoder;
-import org.web3j.abi.datatypes.Address;
-import org.web3j.abi.datatypes.Function;
-import org.web3j.abi.datatypes.generated.Uint256;
-import org.web3j.utils.Numeric;
-import org.web3j.utils.Strings;
 
+import javax.annotation.PostConstruct;
 import java.io.IOException;
 import java.math.BigInteger;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 
 @Slf4j
@@ -35,80 +43,206 @@ public class ERC20Controller {
     private static long syncResultTimeout = 10000;
 
     private static final String CONTRACT_NAME = "erc20";
-    private static final String CONTRACT_ARGS_EVM_PARAM = "data";
+
+    /**
+     * balanceOfOwner(address)
+     */
+    private static final String BALANCE_OF_OWNER = "0xc66130d7";
 
     @Autowired
-    private ChainClient chainClient;
+    private ChainGateway chainGateway;
 
-    @PostMapping(value = "/transfer")
-    public Result<?> transfer(@RequestBody TransferRequest input) throws SdkException{
-        Map<String, byte[]> params = new HashMap<>();
-        Function function = new Function( "transfer" ,
-                Arrays.asList(new Address(input.getTo()), new Uint256(BigInteger.valueOf(input.getAmount()))),
-                Collections.emptyList());
+    @Autowired
+    private IdempotentSubmitter idempotentSubmitter;
 
-        String methodDataStr = FunctionEncoder.encode(function);
-        String method = methodDataStr.substring(0,10);
-        params.put(CONTRACT_ARGS_EVM_PARAM, methodDataStr.getBytes());
+    @Autowired
+    private TransactionOutbox transactionOutbox;
+
+    @Autowired
+    private BalanceProjection balanceProjection;
 
-        ResultOuterClass.TxResponse responseInfo = chainClient.invokeContract(CONTRACT_NAME, method, null, params,rpcCallTimeout, syncResultTimeout);
+    @Autowired
+    private AllowanceService allowanceService;
+
+    @Autowired
+    private AllowanceProperties allowanceProperties;
+
+    @Autowired
+    private CalldataProperties calldataProperties;
+
+    private TokenContract erc20;
+
+    @PostConstruct
+    public void init() {
+        erc20 = new TokenContract(chainGateway, CONTRACT_NAME, calldataProperties.getEncoding());
+    }
+
+    /**
+     * 转账，携带Idempotency-Key请求头时同一个键的重试只会产生一笔链上交易
+     */
+    @PostMapping(value = "/transfer")
+    public Result<?> transfer(@RequestBody TransferRequest input,
+                              @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) throws SdkException{
+        BigInteger amount = BigInteger.valueOf(input.getAmount());
+
+        if (StrUtil.isNotBlank(idempotencyKey)) {
+            ResultOuterClass.TxStatusCode code = idempotentSubmitter.submit(transferKey(idempotencyKey),
+                    TokenContract.encodeTransfer(input.getTo(), amount).toString(),
+                    txId -> erc20.transfer(input.getTo(), amount, txId, syncResultTimeout));
+            return Result.data(code);
+        }
+
+        ResultOuterClass.TxResponse responseInfo = erc20.transfer(input.getTo(), amount);
         return Result.data(responseInfo.getCode());
     }
 
+    /**
+     * 异步转账，交易写入本地发件箱后立即返回txId，由后台线程上链
+     */
+    @PostMapping(value = "/transfer/async")
+    public Result<?> transferAsync(@RequestBody TransferRequest input,
+                                   @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (ChainContext.get() != null) {
+            // 发件箱由后台线程提交，只对默认链
+            return Result.fail("异步转账只支持默认链");
+        }
+        if (!transactionOutbox.isRunning()) {
+            return Result.fail("发件箱未启用");
+        }
+        Calldata calldata = TokenContract.encodeTransfer(input.getTo(), BigInteger.valueOf(input.getAmount()));
+
+        String txId;
+        String key = null;
+        if (StrUtil.isNotBlank(idempotencyKey)) {
+            key = transferKey(idempotencyKey);
+            IdempotencyRecord existing = idempotentSubmitter.reserve(key, calldata.toString());
+            if (existing != null) {
+                return Result.data(existing.getTxId(), IdempotencyRecord.COMMITTED.equals(existing.getStatus()) ? "已上链" : "已受理");
+            }
+            txId = idempotentSubmitter.txIdOf(key);
+        } else {
+            txId = newTxId();
+        }
+
+        try {
+            transactionOutbox.accept(new OutboxEntry(txId, CONTRACT_NAME, calldata.getMethod(), ContractClient.params(calldata, calldataProperties.getEncoding())));
+        } catch (IOException | IllegalStateException e) {
+            // 交易没有写入发件箱，释放幂等键，否则同一个键的重试会拿到永远不会上链的txId
+            if (key != null) {
+                idempotentSubmitter.release(key);
+            }
+            log.error("transferAsync is fail, txId = {}, e = {}", txId, e.getMessage());
+            return Result.fail("异步转账受理失败");
+        }
+        return Result.data(txId, "已受理");
+    }
+
+    /**
+     * 授权额度已足够时跳过approve交易，只发送transferFrom
+     */
     @PostMapping(value = "/transferFrom")
     public Result<?> transferFrom(@RequestBody TransferFromRequest input) throws SdkException {
+        BigInteger amount = BigInteger.valueOf(input.getAmount());
+        if (allowanceProperties.isPipelineApprove()) {
+            return transferFromPipelined(input, amount);
+        }
 
-        if(approve(input.getFromAccount(), input.getAmount())){
-            Map<String, byte[]> params = new HashMap<>();
-            Function function = new Function( "transferFrom" ,
-                    Arrays.asList(new Address(input.getFromAccount()), new Address(input.getToAccount()), new Uint256(BigInteger.valueOf(input.getAmount()))),
-                    Collections.emptyList());
+        if (!allowanceService.ensure(CONTRACT_NAME, input.getFromAccount(), amount)) {
+            return Result.fail("授权失败");
+        }
+        String txId = newTxId();
+        ResultOuterClass.TxStatusCode code = sendTransferFrom(input, amount, txId).getCode();
+        if (code != ResultOuterClass.TxStatusCode.SUCCESS) {
+            // 只有缓存的额度确实已过期并重新授权后才重发，其它原因(如余额不足)直接返回首笔结果
+            AllowanceService.Reapprove reapprove = allowanceService.reapproveIfStale(CONTRACT_NAME, input.getFromAccount(), amount);
+            if (reapprove == AllowanceService.Reapprove.FAILED) {
+                return Result.fail("授权失败");
+            }
+            if (reapprove == AllowanceService.Reapprove.APPROVED) {
+                code = retryTransferFrom(input, amount, txId);
+            }
+        }
+        return Result.data(code);
+    }
+
+    private Result<?> transferFromPipelined(TransferFromRequest input, BigInteger amount) throws SdkException {
+        String approveTxId = allowanceService.ensureAsync(CONTRACT_NAME, input.getFromAccount(), amount);
+        String txId = newTxId();
+        ResultOuterClass.TxStatusCode code = sendTransferFrom(input, amount, txId).getCode();
+        if (approveTxId == null) {
+            return Result.data(code);
+        }
+        if (!allowanceService.awaitApprove(approveTxId)) {
+            return Result.fail("授权失败");
+        }
+        if (code != ResultOuterClass.TxStatusCode.SUCCESS) {
+            // 同一区块内transferFrom可能先于approve执行
+            code = retryTransferFrom(input, amount, txId);
+        }
+        return Result.data(code);
+    }
 
-            String methodDataStr = FunctionEncoder.encode(function);
-            String method = methodDataStr.substring(0,10);
-            params.put(CONTRACT_ARGS_EVM_PARAM, methodDataStr.getBytes());
+    /**
+     * 首笔transferFrom未成功时重发。只有链上已确认首笔执行失败时才换新txId，
+     * 查不到首笔(可能超时后仍会上链)时以原txId重发，链上按txId去重，不会重复扣款
+     */
+    private ResultOuterClass.TxStatusCode retryTransferFrom(TransferFromRequest input, BigInteger amount, String txId) throws SdkException {
+        ResultOuterClass.TxStatusCode first = txResult(txId);
+        if (first == ResultOuterClass.TxStatusCode.SUCCESS) {
+            return first;
+        }
+        return sendTransferFrom(input, amount, first != null ? newTxId() : txId).getCode();
+    }
 
-            ResultOuterClass.TxResponse responseInfo = chainClient.invokeContract(CONTRACT_NAME, method, null, params,rpcCallTimeout, syncResultTimeout);
-            return Result.data(responseInfo.getCode());
+    /**
+     * @return 链上交易的结果码，交易不在链上时返回null
+     */
+    private ResultOuterClass.TxStatusCode txResult(String txId) {
+        ChainmakerTransaction.TransactionInfo info;
+        try {
+            info = chainGateway.query(client -> client.getTxByTxId(txId, rpcCallTimeout));
+        } catch (SdkException | RuntimeException e) {
+            return null;
         }
-        return Result.fail("授权失败");
+        return info != null && info.hasTransaction() ? info.getTransaction().getResult().getCode() : null;
     }
 
-    private boolean approve(String fromAccount, Integer amount) throws SdkException {
-        Map<String, byte[]> params = new HashMap<>();
-        Function function = new Function( "approve" ,
-                Arrays.asList(new Address(fromAccount), new Uint256(BigInteger.valueOf(amount))),
-                Collections.emptyList());
+    private ResultOuterClass.TxResponse sendTransferFrom(TransferFromRequest input, BigInteger amount, String txId) throws SdkException {
+        return erc20.transferFrom(input.getFromAccount(), input.getToAccount(), amount, txId, syncResultTimeout);
+    }
 
-        String methodDataStr = FunctionEncoder.encode(function);
-        String method = methodDataStr.substring(0,10);
-        params.put(CONTRACT_ARGS_EVM_PARAM, methodDataStr.getBytes());
+    /**
+     * 幂等键按目标链区分，默认链保持原有格式
+     */
+    private static String transferKey(String idempotencyKey) {
+        String chainId = ChainContext.get();
+        return chainId == null ? "erc20:transfer:" + idempotencyKey : "erc20:" + chainId + ":transfer:" + idempotencyKey;
+    }
 
-        ResultOuterClass.TxResponse responseInfo = chainClient.invokeContract(CONTRACT_NAME, method, null, params,rpcCallTimeout, syncResultTimeout);
-        return StrUtil.equals(responseInfo.getCode().toString(), "SUCCESS");
+    private static String newTxId() {
+        return SecureUtil.sha256(IdUtil.fastUUID());
     }
 
     @GetMapping(value = "/balance")
     public Result<?> balanceOfOwner(BalanceOfOwnerRequest input) throws SdkException {
-        Map<String, byte[]> params = new HashMap<>();
-        Function function = new Function( "balanceOfOwner" , Arrays.asList(new Address(input.getAccount())), Collections.emptyList());
-        String methodDataStr = FunctionEncoder.encode(function);
-        String method = methodDataStr.substring(0,10);
-        params.put(CONTRACT_ARGS_EVM_PARAM, methodDataStr.getBytes());
-
-        ResultOuterClass.TxResponse responseInfo = chainClient.queryContract(CONTRACT_NAME, method, null, params, rpcCallTimeout);
-        return Result.data(Numeric.toBigInt(responseInfo.getContractResult().getResult().toByteArray()));
+        BigInteger projected = balanceProjection.balanceOf(CONTRACT_NAME, input.getAccount());
+        if (projected != null) {
+            return Result.data(projected);
+        }
+
+        Calldata calldata = Calldata.of(BALANCE_OF_OWNER, 1).address(input.getAccount());
+        Map<String, byte[]> params = ContractClient.params(calldata, calldataProperties.getEncoding());
+
+        ResultOuterClass.TxResponse responseInfo = chainGateway.query(client -> client.queryContract(CONTRACT_NAME, calldata.getMethod(), null, params, rpcCallTimeout));
+        return Result.data(AbiResults.uint(responseInfo.getContractResult().getResult()));
     }
 
     @GetMapping(value = "/name")
     public Result<?> balances() throws SdkException {
-        Map<String, byte[]> params = new HashMap<>();
-        Function function = new Function( "name" , Collections.emptyList(), Collections.emptyList());
-        String methodDataStr = FunctionEncoder.encode(function);
-        String method = methodDataStr.substring(0,10);
-        params.put(CONTRACT_ARGS_EVM_PARAM, methodDataStr.getBytes());
+        Calldata calldata = TokenContract.encodeName();
+        Map<String, byte[]> params = ContractClient.params(calldata, calldataProperties.getEncoding());
 
-        ResultOuterClass.TxResponse responseInfo = chainClient.queryContract(CONTRACT_NAME, method, null, params, rpcCallTimeout);
+        ResultOuterClass.TxResponse responseInfo = chainGateway.query(client -> client.queryContract(CONTRACT_NAME, calldata.getMethod(), null, params, rpcCallTimeout));
         return Result.data(responseInfo.getContractResult().getResult().toStringUtf8());
     }
 
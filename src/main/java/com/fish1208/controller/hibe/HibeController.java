@@ -0,0 +1,51 @@
+package com.fish1208.controller.hibe;
+
+import com.fish1208.chainmaker.hibe.HibeService;
+import com.fish1208.common.response.Result;
+import com.fish1208.controller.hibe.input.HibeDecryptRequest;
+import com.fish1208.controller.hibe.input.HibeEncryptRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.chainmaker.sdk.SdkException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * HIBE隐私交易payload加解密控制器，消息和结果均为base64
+ */
+@Slf4j
+@RestController
+@RequestMapping("/hibe")
+public class HibeController {
+
+    @Autowired
+    private HibeService hibeService;
+
+    @PostMapping(value = "/encrypt")
+    public Result<?> encrypt(@RequestBody HibeEncryptRequest input) {
+        if (input.getMessages() == null || input.getReceiverIds() == null || input.getOrgIds() == null) {
+            return Result.fail("messages、receiverIds、orgIds不能为空");
+        }
+        try {
+            return Result.data(hibeService.encryptBatch(input.getMessages(), input.getReceiverIds(), input.getOrgIds()));
+        } catch (SdkException | IllegalArgumentException e) {
+            log.error("hibe encrypt is fail, e = {}", e.getMessage());
+            return Result.fail(e.getMessage());
+        }
+    }
+
+    @PostMapping(value = "/decrypt")
+    public Result<?> decrypt(@RequestBody HibeDecryptRequest input) {
+        if (input.getMessages() == null || input.getHibeId() == null || input.getOrgId() == null) {
+            return Result.fail("messages、hibeId、orgId不能为空");
+        }
+        try {
+            return Result.data(hibeService.decryptBatch(input.getHibeId(), input.getOrgId(), input.getMessages()));
+        } catch (SdkException | IllegalArgumentException e) {
+            log.error("hibe decrypt is fail, e = {}", e.getMessage());
+            return Result.fail(e.getMessage());
+        }
+    }
+}
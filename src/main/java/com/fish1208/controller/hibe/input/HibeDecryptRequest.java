@@ -0,0 +1,19 @@
+package com.fish1208.controller.hibe.input;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class HibeDecryptRequest {
+
+    private String hibeId;
+
+    private String orgId;
+
+    /**
+     * 密文，JSON中为base64
+     */
+    private List<byte[]> messages;
+
+}
@@ -0,0 +1,19 @@
+package com.fish1208.controller.hibe.input;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class HibeEncryptRequest {
+
+    /**
+     * 明文，JSON中为base64
+     */
+    private List<byte[]> messages;
+
+    private String[] receiverIds;
+
+    private String[] orgIds;
+
+}
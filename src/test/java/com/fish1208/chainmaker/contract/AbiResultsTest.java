@@ -0,0 +1,78 @@
+package com.fish1208.chainmaker.contract;
+
+import com.google.protobuf.ByteString;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.Test;
+import org.web3j.abi.TypeEncoder;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.DynamicBytes;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Int256;
+import org.web3j.abi.datatypes.generated.Uint256;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 合约返回值按web3j的ABI编码构造后解码
+ */
+class AbiResultsTest {
+
+    @Test
+    void uint() {
+        BigInteger big = BigInteger.ONE.shiftLeft(256).subtract(BigInteger.ONE);
+        assertEquals(big, AbiResults.uint(result(new Uint256(big))));
+        assertEquals(BigInteger.valueOf(1000000), AbiResults.uint(result(new Uint256(1000000))));
+        assertEquals(BigInteger.ZERO, AbiResults.uint(ByteString.EMPTY));
+    }
+
+    @Test
+    void negativeInt256() {
+        assertEquals(BigInteger.valueOf(-1), AbiResults.int256(result(new Int256(-1))));
+        assertEquals(BigInteger.valueOf(-1000000), AbiResults.int256(result(new Int256(-1000000))));
+        assertEquals(BigInteger.valueOf(42), AbiResults.int256(result(new Int256(42))));
+    }
+
+    @Test
+    void bool() {
+        assertTrue(AbiResults.bool(result(new Bool(true))));
+        assertFalse(AbiResults.bool(result(new Bool(false))));
+        assertFalse(AbiResults.bool(ByteString.EMPTY));
+    }
+
+    @Test
+    void address() {
+        String address = "0xa1b2c3d4e5f60718293a4b5c6d7e8f9012345678";
+        assertEquals(address, AbiResults.address(result(new Address(address))));
+        assertEquals("0x0000000000000000000000000000000000000abc", AbiResults.address(result(new Address("0xabc"))));
+    }
+
+    @Test
+    void dynamic() {
+        byte[] payload = new byte[40];
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] = (byte) (i * 7);
+        }
+        // 单个动态返回值编码为：偏移量word + 长度word + 内容
+        assertArrayEquals(payload, AbiResults.bytes(dynamicResult(new DynamicBytes(payload))));
+        assertEquals("链上hello", AbiResults.string(dynamicResult(new Utf8String("链上hello"))));
+        assertEquals("", AbiResults.string(dynamicResult(new Utf8String(""))));
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static ByteString result(Type value) {
+        return ByteString.copyFrom(Hex.decode(TypeEncoder.encode(value)));
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static ByteString dynamicResult(Type value) {
+        String offset = TypeEncoder.encode(new Uint256(32));
+        return ByteString.copyFrom(Hex.decode(offset + TypeEncoder.encode(value)));
+    }
+}
@@ -0,0 +1,62 @@
+package com.fish1208.chainmaker.contract;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.generated.Uint256;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 一次transfer的calldata编码耗时，main先打印各方式的data参数字节数
+ *
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.fish1208.chainmaker.contract.CalldataBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CalldataBenchmark {
+
+    private static final String TO = "0xa1b2c3d4e5f60718293a4b5c6d7e8f9012345678";
+
+    private BigInteger amount = BigInteger.valueOf(1000000);
+
+    /**
+     * 改造前控制器的写法
+     */
+    @Benchmark
+    public byte[] web3jHexString() {
+        Function function = new Function("transfer", Arrays.asList(new Address(TO), new Uint256(amount)), Collections.emptyList());
+        return FunctionEncoder.encode(function).getBytes();
+    }
+
+    @Benchmark
+    public byte[] calldataHex() {
+        return TokenContract.encodeTransfer(TO, amount).toBytes(CalldataEncoding.HEX);
+    }
+
+    @Benchmark
+    public byte[] calldataRaw() {
+        return TokenContract.encodeTransfer(TO, amount).toBytes(CalldataEncoding.RAW);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        CalldataBenchmark benchmark = new CalldataBenchmark();
+        byte[] expected = benchmark.web3jHexString();
+        if (!Arrays.equals(expected, benchmark.calldataHex())) {
+            throw new IllegalStateException("hex calldata differs from FunctionEncoder");
+        }
+        System.out.printf("payload bytes per transfer: hex = %d, raw = %d%n", expected.length, benchmark.calldataRaw().length);
+        new Runner(new OptionsBuilder().include(CalldataBenchmark.class.getSimpleName()).build()).run();
+    }
+}
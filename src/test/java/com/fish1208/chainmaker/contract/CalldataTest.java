@@ -0,0 +1,102 @@
+package com.fish1208.chainmaker.contract;
+
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.Test;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.DynamicBytes;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Int256;
+import org.web3j.abi.datatypes.generated.Uint256;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Calldata编码与web3j FunctionEncoder逐字节一致
+ */
+class CalldataTest {
+
+    private static final String SELECTOR = "0x12345678";
+
+    @Test
+    void addressMatchesWeb3j() {
+        String full = "0xa1b2c3d4e5f60718293a4b5c6d7e8f9012345678";
+        assertEquals(web3j(new Address(full)), Calldata.of(SELECTOR, 1).address(full).toString());
+        assertEquals(web3j(new Address(full)), Calldata.of(SELECTOR, 1).address(full.substring(2).toUpperCase()).toString());
+    }
+
+    @Test
+    void oddLengthAddressIsLeftPadded() {
+        assertEquals(web3j(new Address("0xabc")), Calldata.of(SELECTOR, 1).address("0xabc").toString());
+        assertEquals(web3j(new Address("0x1")), Calldata.of(SELECTOR, 1).address("1").toString());
+    }
+
+    @Test
+    void uintMatchesWeb3j() {
+        BigInteger big = BigInteger.ONE.shiftLeft(256).subtract(BigInteger.ONE);
+        assertEquals(web3j(new Uint256(0)), Calldata.of(SELECTOR, 1).uint(0).toString());
+        assertEquals(web3j(new Uint256(Long.MAX_VALUE)), Calldata.of(SELECTOR, 1).uint(Long.MAX_VALUE).toString());
+        assertEquals(web3j(new Uint256(big)), Calldata.of(SELECTOR, 1).uint(big).toString());
+        assertThrows(IllegalArgumentException.class, () -> Calldata.of(SELECTOR, 1).uint(-1));
+        assertThrows(IllegalArgumentException.class, () -> Calldata.of(SELECTOR, 1).uint(big.add(BigInteger.ONE)));
+    }
+
+    @Test
+    void negativeInt256IsSignFilled() {
+        BigInteger min = BigInteger.ONE.shiftLeft(255).negate();
+        for (BigInteger value : Arrays.asList(BigInteger.valueOf(-1), BigInteger.valueOf(-1000000), min, BigInteger.valueOf(42))) {
+            assertEquals(web3j(new Int256(value)), Calldata.of(SELECTOR, 1).int256(value).toString(), value.toString());
+        }
+    }
+
+    @Test
+    void dynamicBytesOffsetsMatchWeb3j() {
+        byte[] payload = new byte[40];
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] = (byte) i;
+        }
+        String expected = web3j(new Uint256(7), new DynamicBytes(payload), new Bool(true), new Utf8String("链上hello"),
+                new DynamicBytes(new byte[0]));
+        String actual = Calldata.of(SELECTOR, 5).uint(7).bytes(payload).bool(true).string("链上hello").bytes(new byte[0]).toString();
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void hexAndRawOutput() {
+        Calldata calldata = Calldata.of(SELECTOR, 3).address("0xabc").int256(BigInteger.valueOf(-5)).string("hello");
+        byte[] raw = calldata.toRawBytes();
+        assertEquals(calldata.length(), raw.length);
+        assertEquals(4 + 32 * 5, raw.length);
+        assertEquals(SELECTOR + Hex.toHexString(raw), new String(calldata.toBytes(), StandardCharsets.US_ASCII));
+        assertArrayEquals(calldata.toBytes(), calldata.toBytes(CalldataEncoding.HEX));
+        assertArrayEquals(raw, calldata.toBytes(CalldataEncoding.RAW));
+        assertEquals(2 + 2 * raw.length, calldata.toBytes().length);
+        // 每次输出都是新数组，调用方修改不影响后续编码
+        raw[0] = 0;
+        assertArrayEquals(Hex.decode(SELECTOR.substring(2)), Arrays.copyOf(calldata.toRawBytes(), 4));
+    }
+
+    @Test
+    void argumentCountIsChecked() {
+        assertThrows(IllegalStateException.class, () -> Calldata.of(SELECTOR, 1).uint(1).uint(2));
+        assertThrows(IllegalStateException.class, () -> Calldata.of(SELECTOR, 2).uint(1).toBytes());
+        assertThrows(IllegalArgumentException.class, () -> Calldata.of("0x1234", 0));
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static String web3j(Type... args) {
+        String encoded = FunctionEncoder.encode(new Function("f", Arrays.asList(args), Collections.emptyList()));
+        // 只比较参数部分，选择器替换为固定值
+        return SELECTOR + encoded.substring(10);
+    }
+}
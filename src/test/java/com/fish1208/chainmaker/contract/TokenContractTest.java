@@ -0,0 +1,53 @@
+package com.fish1208.chainmaker.contract;
+
+import org.junit.jupiter.api.Test;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 生成的TokenContract选择器和编码与web3j一致
+ */
+class TokenContractTest {
+
+    private static final String FROM = "0xa1b2c3d4e5f60718293a4b5c6d7e8f9012345678";
+    private static final String TO = "0x1234567890abcdef1234567890abcdef12345678";
+
+    @Test
+    void selectors() {
+        assertEquals(FunctionEncoder.buildMethodId("transfer(address,uint256)"), TokenContract.TRANSFER);
+        assertEquals(FunctionEncoder.buildMethodId("transferFrom(address,address,uint256)"), TokenContract.TRANSFER_FROM);
+        assertEquals(FunctionEncoder.buildMethodId("approve(address,uint256)"), TokenContract.APPROVE);
+        assertEquals(FunctionEncoder.buildMethodId("balanceOf(address)"), TokenContract.BALANCE_OF);
+        assertEquals(FunctionEncoder.buildMethodId("allowance(address,address)"), TokenContract.ALLOWANCE);
+        assertEquals(FunctionEncoder.buildMethodId("setName(string)"), TokenContract.SET_NAME);
+    }
+
+    @Test
+    void encoders() {
+        BigInteger amount = BigInteger.valueOf(1000000);
+        BigInteger big = BigInteger.ONE.shiftLeft(200);
+        assertEquals(web3j("transfer", new Address(TO), new Uint256(amount)), TokenContract.encodeTransfer(TO, amount).toString());
+        assertEquals(web3j("transferFrom", new Address(FROM), new Address(TO), new Uint256(big)),
+                TokenContract.encodeTransferFrom(FROM, TO, big).toString());
+        assertEquals(web3j("approve", new Address(TO), new Uint256(amount)), TokenContract.encodeApprove(TO, amount).toString());
+        assertEquals(web3j("balanceOf", new Address(FROM)), TokenContract.encodeBalanceOf(FROM).toString());
+        assertEquals(web3j("allowance", new Address(FROM), new Address(TO)), TokenContract.encodeAllowance(FROM, TO).toString());
+        assertEquals(web3j("setName", new Utf8String("token")), TokenContract.encodeSetName("token").toString());
+        assertEquals(web3j("name"), TokenContract.encodeName().toString());
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static String web3j(String name, Type... args) {
+        return FunctionEncoder.encode(new Function(name, Arrays.asList(args), Collections.emptyList()));
+    }
+}
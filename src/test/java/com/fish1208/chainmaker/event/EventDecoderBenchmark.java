@@ -0,0 +1,88 @@
+package com.fish1208.chainmaker.event;
+
+import com.fish1208.chainmaker.projection.TransferEvent;
+import org.chainmaker.pb.common.ResultOuterClass;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.generated.Uint256;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transfer事件解码吞吐，单线程结果即每核events/s
+ *
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.fish1208.chainmaker.event.EventDecoderBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventDecoderBenchmark {
+
+    private static final String FROM = "000000000000000000000000a1b2c3d4e5f60718293a4b5c6d7e8f9012345678";
+    private static final String TO = "0000000000000000000000001234567890abcdef1234567890abcdef12345678";
+    private static final String VALUE = "00000000000000000000000000000000000000000000000000000000000f4240";
+
+    @SuppressWarnings("rawtypes")
+    private static final List<TypeReference<Type>> WEB3J_TYPES = Collections.singletonList((TypeReference) new TypeReference<Uint256>() {});
+
+    private ResultOuterClass.ContractEventInfo info;
+    private EventDecoders decoders;
+
+    @Setup
+    public void setup() throws IOException {
+        info = ResultOuterClass.ContractEventInfo.newBuilder()
+                .setTopic(TransferEvent.TOPIC)
+                .setContractName("erc20")
+                .setBlockHeight(100)
+                .addEventData(FROM)
+                .addEventData(TO)
+                .addEventData(VALUE)
+                .build();
+        decoders = new EventDecoders();
+        decoders.register(new String(Files.readAllBytes(Paths.get("contract/token.sol")), StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public DecodedEvent generated() {
+        return decoders.decode(info);
+    }
+
+    /**
+     * 投影的解码路径，在通用解码结果上取出Transfer
+     */
+    @Benchmark
+    public TransferEvent projection() {
+        return TransferEvent.of(decoders.decode(info));
+    }
+
+    /**
+     * web3j反射解码
+     */
+    @Benchmark
+    public void web3j(Blackhole blackhole) {
+        List<String> data = info.getEventDataList();
+        blackhole.consume(FunctionReturnDecoder.decodeIndexedValue(data.get(0), new TypeReference<Address>() {}));
+        blackhole.consume(FunctionReturnDecoder.decodeIndexedValue(data.get(1), new TypeReference<Address>() {}));
+        blackhole.consume(FunctionReturnDecoder.decode(data.get(2), WEB3J_TYPES));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EventDecoderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,118 @@
+package com.fish1208.chainmaker.hibe;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 只覆盖不进入libhibe的路径：参数校验、未配置的组织和队列满时的拒绝
+ */
+class HibeServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    private HibeService service;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        if (service != null) {
+            service.destroy();
+        }
+    }
+
+    @Test
+    void receiverAndOrgLengthMismatch() {
+        service = new HibeService(new HibeKeyStore(), properties(1, 1, 100), new SimpleMeterRegistry());
+        assertThrows(IllegalArgumentException.class, () -> service.encrypt(new byte[]{1},
+                new String[]{"wx-topL", "wx-topL/secondL"}, new String[]{"wx-org1.chainmaker.org"}));
+    }
+
+    @Test
+    void unknownOrg() {
+        service = new HibeService(new BlockingKeyStore(false), properties(1, 1, 100), new SimpleMeterRegistry());
+        assertThrows(IllegalArgumentException.class, () -> service.encryptBatch(Arrays.asList(new byte[]{1}, new byte[]{2}),
+                new String[]{"wx-topL"}, new String[]{"unknown"}));
+    }
+
+    @Test
+    void rejectsWhenQueueStaysFull() throws Exception {
+        service = new HibeService(new BlockingKeyStore(true), properties(1, 1, 100), new SimpleMeterRegistry());
+        // 一个在执行、一个在排队，占满1线程+1队列
+        Future<?> running = callers.submit(() -> service.decrypt("wx-topL", "blocking", new byte[]{1}));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        Future<?> queued = callers.submit(() -> service.decrypt("wx-topL", "blocking", new byte[]{2}));
+        Thread.sleep(50);
+
+        long start = System.nanoTime();
+        assertThrows(RejectedExecutionException.class,
+                () -> service.decryptBatch("wx-topL", "blocking", Collections.singletonList(new byte[]{3})));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 90);
+
+        release.countDown();
+        assertEquals(IllegalArgumentException.class, cause(running));
+        assertEquals(IllegalArgumentException.class, cause(queued));
+    }
+
+    private static Class<?> cause(Future<?> future) throws InterruptedException {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause().getClass();
+        } catch (TimeoutException e) {
+            throw new AssertionError("hibe task did not finish", e);
+        }
+    }
+
+    private static HibeProperties properties(int threads, int queueCapacity, long submitTimeout) {
+        HibeProperties properties = new HibeProperties();
+        properties.setThreads(threads);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setSubmitTimeout(submitTimeout);
+        return properties;
+    }
+
+    /**
+     * 取参数时可阻塞到release，之后按未配置处理，保证不调用libhibe
+     */
+    private class BlockingKeyStore extends HibeKeyStore {
+
+        private final boolean block;
+
+        BlockingKeyStore(boolean block) {
+            this.block = block;
+        }
+
+        @Override
+        public byte[] getParams(String orgId) {
+            if (block) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            throw new IllegalArgumentException("hibe params not configured: " + orgId);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.fish1208.common.response.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fish1208.common.response.Result;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.util.JsonFormat;
+import org.chainmaker.pb.common.ChainmakerBlock;
+import org.chainmaker.pb.common.ResultOuterClass;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Result序列化耗时：默认Jackson反射序列化 vs ResponseJsonModule，输出写到丢弃流，只比较序列化本身
+ *
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.fish1208.common.response.json.ResultSerializerBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultSerializerBenchmark {
+
+    private static final OutputStream DISCARD = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    private final ObjectMapper defaultMapper = new ObjectMapper();
+    private final ObjectMapper moduleMapper = new ObjectMapper().registerModule(new ResponseJsonModule());
+
+    private BigInteger balance = new BigInteger("123456789012345678901234567890");
+    private ByteString text = ByteString.copyFromUtf8("hello chainmaker");
+    private ChainmakerBlock.BlockHeader header;
+    private ResultOuterClass.TxResponse receipt;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        header = ChainmakerBlock.BlockHeader.newBuilder()
+                .setChainId("chain1")
+                .setBlockHeight(1024)
+                .setPreBlockHash(randomBytes(random, 32))
+                .setBlockHash(randomBytes(random, 32))
+                .setTxRoot(randomBytes(random, 32))
+                .setBlockTimestamp(1634567890L)
+                .setTxCount(100)
+                .setSignature(randomBytes(random, 72))
+                .build();
+        receipt = ResultOuterClass.TxResponse.newBuilder()
+                .setCode(ResultOuterClass.TxStatusCode.SUCCESS)
+                .setMessage("OK")
+                .setTxId("17a3b2c1d4e5f60718293a4b5c6d7e8f9012345678abcdef")
+                .setContractResult(ResultOuterClass.ContractResult.newBuilder().setResult(randomBytes(random, 32)))
+                .build();
+    }
+
+    private static ByteString randomBytes(Random random, int size) {
+        byte[] bytes = new byte[size];
+        random.nextBytes(bytes);
+        return ByteString.copyFrom(bytes);
+    }
+
+    @Benchmark
+    public void balanceDefault() throws Exception {
+        defaultMapper.writeValue(DISCARD, Result.data(balance));
+    }
+
+    @Benchmark
+    public void balanceModule() throws Exception {
+        moduleMapper.writeValue(DISCARD, Result.data(balance));
+    }
+
+    /**
+     * 改造前：先解码成String
+     */
+    @Benchmark
+    public void textDefault() throws Exception {
+        defaultMapper.writeValue(DISCARD, Result.data(text.toStringUtf8()));
+    }
+
+    @Benchmark
+    public void textModule() throws Exception {
+        moduleMapper.writeValue(DISCARD, Result.data(Utf8Text.of(text)));
+    }
+
+    /**
+     * 默认ObjectMapper无法序列化protobuf消息，对比先用JsonFormat转成String再解析为树嵌入的写法
+     */
+    @Benchmark
+    public void headerJsonFormat() throws Exception {
+        defaultMapper.writeValue(DISCARD, Result.data(defaultMapper.readTree(JsonFormat.printer().print(header))));
+    }
+
+    @Benchmark
+    public void headerModule() throws Exception {
+        moduleMapper.writeValue(DISCARD, Result.data(header));
+    }
+
+    @Benchmark
+    public void receiptJsonFormat() throws Exception {
+        defaultMapper.writeValue(DISCARD, Result.data(defaultMapper.readTree(JsonFormat.printer().print(receipt))));
+    }
+
+    @Benchmark
+    public void receiptModule() throws Exception {
+        moduleMapper.writeValue(DISCARD, Result.data(receipt));
+    }
+
+    public static void main(String[] args) throws Exception {
+        ResultSerializerBenchmark benchmark = new ResultSerializerBenchmark();
+        benchmark.setUp();
+        String expected = benchmark.defaultMapper.writeValueAsString(Result.data(benchmark.balance));
+        String actual = benchmark.moduleMapper.writeValueAsString(Result.data(benchmark.balance));
+        if (!expected.equals(actual)) {
+            throw new IllegalStateException("module output differs from default: " + expected + " vs " + actual);
+        }
+        System.out.println(benchmark.moduleMapper.writeValueAsString(Result.data(benchmark.receipt)));
+        run();
+    }
+
+    private static void run() throws RunnerException {
+        new Runner(new OptionsBuilder().include(ResultSerializerBenchmark.class.getSimpleName()).build()).run();
+    }
+}